@@ -4,6 +4,8 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(exclude = {
     org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration.class
@@ -11,6 +13,8 @@ import org.springframework.cache.annotation.EnableCaching;
 
 @EnableJpaAuditing
 @EnableCaching 
+@EnableScheduling
+@EnableAsync
 public class BackendApplication {
 
 	public static void main(String[] args) {
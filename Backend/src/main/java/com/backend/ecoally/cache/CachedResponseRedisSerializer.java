@@ -0,0 +1,38 @@
+package com.backend.ecoally.cache;
+
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+
+import java.io.Serializable;
+
+/**
+ * JDK serialization for L2 values. Cached controller methods return {@link ResponseEntity},
+ * which is not serializable, so it travels as status + body and is rebuilt on read.
+ */
+public class CachedResponseRedisSerializer implements RedisSerializer<Object> {
+
+    private final JdkSerializationRedisSerializer delegate = new JdkSerializationRedisSerializer();
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value instanceof ResponseEntity<?> response) {
+            value = new CachedResponse(response.getStatusCode().value(), response.getBody());
+        }
+        return delegate.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        Object value = delegate.deserialize(bytes);
+        if (value instanceof CachedResponse cached) {
+            return ResponseEntity.status(HttpStatusCode.valueOf(cached.status())).body(cached.body());
+        }
+        return value;
+    }
+
+    private record CachedResponse(int status, Object body) implements Serializable {
+    }
+}
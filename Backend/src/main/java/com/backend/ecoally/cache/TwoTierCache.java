@@ -0,0 +1,221 @@
+package com.backend.ecoally.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * One cache region: a Caffeine L1 in front of an optional Redis L2.
+ * <p>
+ * Reads try L1, then L2 (promoting hits into L1), then the loader. Writes and evictions
+ * go to both tiers and are broadcast so other nodes drop their L1 copy. Any L2 failure
+ * is logged and the region keeps working from L1 alone.
+ * <p>
+ * With {@code @Cacheable(sync = true)} misses are single-flight: concurrent callers for
+ * one key block on the same Caffeine load instead of each querying the database. Hits on
+ * an entry past the refresh-ahead point trigger one background reload, so a hot key is
+ * replaced before it expires and never goes cold. That only happens in regions with a
+ * loader registered through {@link TwoTierCacheManager#registerRefreshLoader}: the
+ * {@code valueLoader} handed to {@link #get(Object, Callable)} is the intercepted call of the
+ * original request and must not outlive it.
+ */
+@Slf4j
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<Object, Object> l1;
+    private final org.springframework.cache.Cache l2;
+    private final TwoTierCacheManager.InvalidationPublisher publisher;
+    private final long refreshAheadNanos;
+    private final Executor refreshExecutor;
+    // Request-independent key -> value loader for refresh-ahead; null disables it
+    private volatile Function<Object, ?> refreshLoader;
+
+    // Keys with a background reload in flight
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+    // Bumped by put/evict/clear so a reload started before it can't resurrect stale data
+    private final AtomicLong generation = new AtomicLong();
+
+    TwoTierCache(String name, Cache<Object, Object> l1, org.springframework.cache.Cache l2,
+            TwoTierCacheManager.InvalidationPublisher publisher,
+            long refreshAheadNanos, Executor refreshExecutor) {
+        super(true);
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.publisher = publisher;
+        this.refreshAheadNanos = refreshAheadNanos;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l1;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object stored = l1.getIfPresent(key);
+        if (stored != null)
+            return ((Stamped) stored).value();
+
+        ValueWrapper fromL2 = l2Get(key);
+        if (fromL2 == null)
+            return null;
+        Stamped promoted = stamp(fromL2.get());
+        l1.put(key, promoted);
+        return promoted.value();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Caffeine runs at most one mapping function per key; other callers wait for it
+        Stamped stored = (Stamped) l1.get(key, k -> {
+            ValueWrapper fromL2 = l2Get(k);
+            if (fromL2 != null)
+                return stamp(fromL2.get());
+            Object loaded = load(k, valueLoader);
+            l2Put(k, loaded);
+            return stamp(loaded);
+        });
+
+        Function<Object, ?> loader = refreshLoader;
+        if (loader != null && System.nanoTime() - stored.loadedAtNanos() > refreshAheadNanos) {
+            refreshAsync(key, loader);
+        }
+        return (T) fromStoreValue(stored.value());
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        // An explicit write supersedes any reload that read the old data
+        generation.incrementAndGet();
+        l2Put(key, value);
+        l1.put(key, stamp(value));
+        publisher.evicted(name, key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (l2 != null) {
+            try {
+                l2.evict(key);
+            } catch (RuntimeException e) {
+                log.warn("[Cache] L2 evict failed for {}::{}: {}", name, key, e.getMessage());
+            }
+        }
+        generation.incrementAndGet();
+        l1.invalidate(key);
+        publisher.evicted(name, key);
+    }
+
+    @Override
+    public void clear() {
+        if (l2 != null) {
+            try {
+                l2.clear();
+            } catch (RuntimeException e) {
+                log.warn("[Cache] L2 clear failed for {}: {}", name, e.getMessage());
+            }
+        }
+        generation.incrementAndGet();
+        l1.invalidateAll();
+        publisher.cleared(name);
+    }
+
+    // ── Remote invalidation (another node changed the shared L2) ──────────────
+
+    void evictLocal(Object key) {
+        generation.incrementAndGet();
+        l1.invalidate(key);
+    }
+
+    void clearLocal() {
+        generation.incrementAndGet();
+        l1.invalidateAll();
+    }
+
+    // ── Refresh-ahead ─────────────────────────────────────────────────────────
+
+    void setRefreshLoader(Function<Object, ?> loader) {
+        this.refreshLoader = loader;
+    }
+
+    private void refreshAsync(Object key, Function<Object, ?> loader) {
+        if (!refreshing.add(key))
+            return;
+        long startGeneration = generation.get();
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    Object loaded = loader.apply(key);
+                    if (generation.get() == startGeneration) {
+                        l2Put(key, loaded);
+                        l1.put(key, stamp(loaded));
+                        publisher.evicted(name, key);
+                    }
+                } catch (RuntimeException e) {
+                    // Keep serving the current entry; it is retried on the next hit
+                    log.warn("[Cache] Refresh-ahead failed for {}::{}: {}", name, key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private Stamped stamp(Object value) {
+        return new Stamped(toStoreValue(value), System.nanoTime());
+    }
+
+    // L1 entry: store value plus when it was loaded, for the refresh-ahead check
+    private record Stamped(Object value, long loadedAtNanos) {
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    private ValueWrapper l2Get(Object key) {
+        if (l2 == null)
+            return null;
+        try {
+            return l2.get(key);
+        } catch (RuntimeException e) {
+            log.warn("[Cache] L2 read failed for {}::{}: {}", name, key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void l2Put(Object key, Object value) {
+        if (l2 == null)
+            return;
+        try {
+            l2.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("[Cache] L2 write failed for {}::{}: {}", name, key, e.getMessage());
+        }
+    }
+}
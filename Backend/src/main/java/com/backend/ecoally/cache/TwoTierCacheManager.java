@@ -0,0 +1,156 @@
+package com.backend.ecoally.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Creates a {@link TwoTierCache} per region on first use.
+ * <p>
+ * Without Redis ({@code redisCacheManager == null}) every region is L1-only. With Redis,
+ * local writes and evictions are published on {@link #CHANNEL} and this manager, registered
+ * as the channel listener, drops the matching L1 entries on every other node.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    public static final String CHANNEL = "ecoally:cache-invalidation";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    private final Duration l1Ttl;
+    private final long l1MaxSize;
+    private final double refreshAheadRatio;
+    private final Map<String, Duration> regionTtls = new ConcurrentHashMap<>();
+    private final Map<String, Function<Object, ?>> refreshLoaders = new ConcurrentHashMap<>();
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate redisTemplate;
+
+    // Background reloads for refresh-ahead; a full queue just skips the early refresh
+    private final ThreadPoolExecutor refreshExecutor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(256), r -> {
+                Thread t = new Thread(r, "cache-refresh");
+                t.setDaemon(true);
+                return t;
+            });
+
+    /**
+     * @param refreshAheadRatio fraction of the L1 TTL after which a hit also schedules
+     *                          a background reload (e.g. 0.8), in regions with a
+     *                          {@linkplain #registerRefreshLoader refresh loader}
+     */
+    public TwoTierCacheManager(Duration l1Ttl, long l1MaxSize, double refreshAheadRatio,
+            RedisCacheManager redisCacheManager, StringRedisTemplate redisTemplate) {
+        this.l1Ttl = l1Ttl;
+        this.l1MaxSize = l1MaxSize;
+        this.refreshAheadRatio = refreshAheadRatio;
+        this.redisCacheManager = redisCacheManager;
+        this.redisTemplate = redisTemplate;
+    }
+
+    /** Overrides the L1 TTL for one region; call before the region is first used. */
+    public TwoTierCacheManager withRegionTtl(String name, Duration ttl) {
+        regionTtls.put(name, ttl);
+        return this;
+    }
+
+    /**
+     * Enables refresh-ahead for one region. The loader runs on a background thread, so it
+     * must rebuild the value from the key alone — no request, security context or session.
+     */
+    public void registerRefreshLoader(String name, Function<Object, ?> loader) {
+        refreshLoaders.put(name, loader);
+        TwoTierCache existing = caches.get(name);
+        if (existing != null)
+            existing.setRefreshLoader(loader);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private TwoTierCache createCache(String name) {
+        Cache l2 = redisCacheManager != null ? redisCacheManager.getCache(name) : null;
+        Duration ttl = regionTtls.getOrDefault(name, l1Ttl);
+        TwoTierCache cache = new TwoTierCache(name,
+                Caffeine.newBuilder().maximumSize(l1MaxSize).expireAfterWrite(ttl).build(),
+                l2, publisher, (long) (ttl.toNanos() * refreshAheadRatio), refreshExecutor);
+        cache.setRefreshLoader(refreshLoaders.get(name));
+        return cache;
+    }
+
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    // ── Cross-node L1 invalidation ────────────────────────────────────────────
+
+    interface InvalidationPublisher {
+        void evicted(String cacheName, Object key);
+
+        void cleared(String cacheName);
+    }
+
+    private final InvalidationPublisher publisher = new InvalidationPublisher() {
+        @Override
+        public void evicted(String cacheName, Object key) {
+            publish(nodeId + "|E|" + cacheName + "|" + key);
+        }
+
+        @Override
+        public void cleared(String cacheName) {
+            publish(nodeId + "|C|" + cacheName);
+        }
+    };
+
+    private void publish(String message) {
+        if (redisTemplate == null)
+            return;
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (RuntimeException e) {
+            log.warn("[Cache] Could not publish invalidation: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        // nodeId|E|cache|key  or  nodeId|C|cache
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 3 || nodeId.equals(parts[0]))
+            return;
+        TwoTierCache cache = caches.get(parts[2]);
+        if (cache == null)
+            return;
+        if ("C".equals(parts[1])) {
+            cache.clearLocal();
+        } else if (parts.length == 4) {
+            cache.evictLocal(parts[3]);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.backend.ecoally.config;
+
+import com.backend.ecoally.cache.CachedResponseRedisSerializer;
+import com.backend.ecoally.cache.TwoTierCacheManager;
+import com.backend.ecoally.service.QuizGradingService;
+import com.backend.ecoally.service.QuizViewService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.time.Duration;
+
+/**
+ * Two-tier cache for the {@code @Cacheable} regions: Caffeine L1 per node, Redis L2 shared.
+ * Redis is only used with {@code cache.l2.enabled=true}; otherwise (prod today) L1 only.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Value("${cache.l1.ttl-seconds:30}")
+    private long l1TtlSeconds;
+
+    @Value("${cache.l1.max-size:1000}")
+    private long l1MaxSize;
+
+    @Value("${cache.l1.refresh-ahead-ratio:0.8}")
+    private double refreshAheadRatio;
+
+    @Value("${cache.l2.ttl-seconds:600}")
+    private long l2TtlSeconds;
+
+    // Rendered quiz views and answer keys are evicted on every edit, so they can live much longer
+    @Value("${cache.quiz-views.ttl-seconds:3600}")
+    private long quizViewsTtlSeconds;
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "cache.l2.enabled", havingValue = "true")
+    public TwoTierCacheManager twoTierCacheManager(RedisConnectionFactory connectionFactory) {
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofSeconds(l2TtlSeconds))
+                .prefixCacheNameWith("ecoally:")
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new CachedResponseRedisSerializer()));
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(config)
+                .withCacheConfiguration(QuizViewService.VIEWS_CACHE,
+                        config.entryTtl(Duration.ofSeconds(Math.max(l2TtlSeconds, quizViewsTtlSeconds))))
+                .withCacheConfiguration(QuizGradingService.KEYS_CACHE,
+                        config.entryTtl(Duration.ofSeconds(Math.max(l2TtlSeconds, quizViewsTtlSeconds))))
+                .build();
+        return new TwoTierCacheManager(Duration.ofSeconds(l1TtlSeconds), l1MaxSize, refreshAheadRatio,
+                redisCacheManager, new StringRedisTemplate(connectionFactory))
+                .withRegionTtl(QuizViewService.VIEWS_CACHE, Duration.ofSeconds(quizViewsTtlSeconds))
+                .withRegionTtl(QuizGradingService.KEYS_CACHE, Duration.ofSeconds(quizViewsTtlSeconds));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "cache.l2.enabled", havingValue = "false", matchIfMissing = true)
+    public TwoTierCacheManager localCacheManager() {
+        return new TwoTierCacheManager(Duration.ofSeconds(l1TtlSeconds), l1MaxSize, refreshAheadRatio, null, null)
+                .withRegionTtl(QuizViewService.VIEWS_CACHE, Duration.ofSeconds(quizViewsTtlSeconds))
+                .withRegionTtl(QuizGradingService.KEYS_CACHE, Duration.ofSeconds(quizViewsTtlSeconds));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.l2.enabled", havingValue = "true")
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,
+            TwoTierCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoTierCacheManager.CHANNEL));
+        return container;
+    }
+}
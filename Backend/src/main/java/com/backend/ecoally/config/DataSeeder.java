@@ -28,36 +28,25 @@ public class DataSeeder {
                 return args -> {
 
                         // ── Quests ──────────────────────────────────────────────────────
+                        if (questRepository.hasLegacyActionCheck()) {
+                                questRepository.dropActionCheck();
+                        }
+                        List<Quest> quests = seedQuests();
                         if (questRepository.count() == 0) {
-                                List<Quest> quests = List.of(
-                                                createQuest("Daily Quiz Champion", "Complete 1 quiz today",
-                                                                "🧠", Quest.QuestType.DAILY,
-                                                                Quest.QuestAction.COMPLETE_QUIZ,
-                                                                1, 50, 10, "bg-blue-100 border-blue-300"),
-                                                createQuest("Photo Challenger", "Submit 1 eco photo challenge",
-                                                                "📸", Quest.QuestType.DAILY,
-                                                                Quest.QuestAction.COMPLETE_CHALLENGE,
-                                                                1, 75, 15, "bg-green-100 border-green-300"),
-                                                createQuest("Weekly Scholar", "Complete 5 quizzes this week",
-                                                                "🎓", Quest.QuestType.WEEKLY,
-                                                                Quest.QuestAction.COMPLETE_QUIZ,
-                                                                5, 200, 40, "bg-purple-100 border-purple-300"),
-                                                createQuest("Eco Warrior", "Submit 3 challenges this week",
-                                                                "🌱", Quest.QuestType.WEEKLY,
-                                                                Quest.QuestAction.COMPLETE_CHALLENGE,
-                                                                3, 300, 60, "bg-emerald-100 border-emerald-300"),
-                                                createQuest("Streak Keeper", "Maintain a 7-day streak",
-                                                                "🔥", Quest.QuestType.WEEKLY,
-                                                                Quest.QuestAction.MAINTAIN_STREAK,
-                                                                7, 250, 50, "bg-orange-100 border-orange-300"),
-                                                createQuest("Perfect Score", "Score 100% on any quiz",
-                                                                "💎", Quest.QuestType.EPIC,
-                                                                Quest.QuestAction.COMPLETE_QUIZ,
-                                                                1, 500, 100, "bg-yellow-100 border-yellow-300"));
                                 questRepository.saveAll(quests);
                                 System.out.println("[DataSeeder] ✅ Seeded " + quests.size() + " quests");
                         } else {
                                 System.out.println("[DataSeeder] ⏭ Quests already exist — skipping");
+                                if (!questRepository.existsBySeedKeyIsNotNull()) {
+                                        // One-time: tables seeded before seed keys existed
+                                        quests.forEach(q -> questRepository.assignSeedKey(
+                                                        q.getSeedKey(), q.getTitle(), q.getType(), q.getTarget()));
+                                        // "Perfect Score" was seeded as COMPLETE_QUIZ before PERFECT_SCORE existed
+                                        if (questRepository.retagSeededQuest("perfect_score",
+                                                        Quest.QuestAction.PERFECT_SCORE) > 0) {
+                                                System.out.println("[DataSeeder] ✅ Perfect Score quest now tracks PERFECT_SCORE");
+                                        }
+                                }
                         }
 
                         // ── Quizzes ─────────────────────────────────────────────────────
@@ -377,10 +366,39 @@ public class DataSeeder {
                 };
         }
 
-        private Quest createQuest(String title, String description, String emoji,
+        private List<Quest> seedQuests() {
+                return List.of(
+                                createQuest("daily_quiz", "Daily Quiz Champion", "Complete 1 quiz today",
+                                                "🧠", Quest.QuestType.DAILY,
+                                                Quest.QuestAction.COMPLETE_QUIZ,
+                                                1, 50, 10, "bg-blue-100 border-blue-300"),
+                                createQuest("daily_challenge", "Photo Challenger", "Submit 1 eco photo challenge",
+                                                "📸", Quest.QuestType.DAILY,
+                                                Quest.QuestAction.COMPLETE_CHALLENGE,
+                                                1, 75, 15, "bg-green-100 border-green-300"),
+                                createQuest("weekly_quizzes", "Weekly Scholar", "Complete 5 quizzes this week",
+                                                "🎓", Quest.QuestType.WEEKLY,
+                                                Quest.QuestAction.COMPLETE_QUIZ,
+                                                5, 200, 40, "bg-purple-100 border-purple-300"),
+                                createQuest("weekly_challenges", "Eco Warrior", "Submit 3 challenges this week",
+                                                "🌱", Quest.QuestType.WEEKLY,
+                                                Quest.QuestAction.COMPLETE_CHALLENGE,
+                                                3, 300, 60, "bg-emerald-100 border-emerald-300"),
+                                createQuest("weekly_streak", "Streak Keeper", "Maintain a 7-day streak",
+                                                "🔥", Quest.QuestType.WEEKLY,
+                                                Quest.QuestAction.MAINTAIN_STREAK,
+                                                7, 250, 50, "bg-orange-100 border-orange-300"),
+                                createQuest("perfect_score", "Perfect Score", "Score 100% on any quiz",
+                                                "💎", Quest.QuestType.EPIC,
+                                                Quest.QuestAction.PERFECT_SCORE,
+                                                1, 500, 100, "bg-yellow-100 border-yellow-300"));
+        }
+
+        private Quest createQuest(String seedKey, String title, String description, String emoji,
                         Quest.QuestType type, Quest.QuestAction action,
                         int target, int points, int coins, String color) {
                 Quest quest = new Quest();
+                quest.setSeedKey(seedKey);
                 quest.setTitle(title);
                 quest.setDescription(description);
                 quest.setEmoji(emoji);
@@ -0,0 +1,59 @@
+package com.backend.ecoally.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-route token-bucket limits applied by {@code RateLimitFilter}.
+ * <p>
+ * Each rule matches a method + Ant-style path and can set a per-user bucket
+ * (authenticated requests), a per-IP bucket, or both. Overriding
+ * {@code rate-limit.rules[n]...} in properties replaces the defaults below.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // local = this JVM only; redis = buckets shared by all nodes through Redis
+    private String store = "local";
+
+    // Upper bound on buckets held in memory (local store)
+    private long maxBuckets = 100_000;
+
+    private List<Rule> rules = new ArrayList<>(List.of(
+            // Generous per-IP: a whole class logs in from one school NAT address
+            new Rule("POST", "/api/auth/login", null, new Limit(60, 60)),
+            new Rule("POST", "/api/auth/register", null, new Limit(20, 20)),
+            new Rule("POST", "/api/challenges/*/submit", new Limit(5, 10), new Limit(60, 120)),
+            new Rule("POST", "/api/awakemap/reports", new Limit(5, 10), new Limit(30, 60)),
+            new Rule("POST", "/api/awakemap/reports/*/resolve", new Limit(5, 10), new Limit(30, 60))));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+        private String method;
+        private String path;
+        private Limit perUser;
+        private Limit perIp;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        // Burst size
+        private int capacity;
+        // Sustained rate
+        private int refillPerMinute;
+    }
+}
@@ -1,7 +1,10 @@
 package com.backend.ecoally.config;
 
 import com.backend.ecoally.security.JwtAuthFilter;
+import com.backend.ecoally.security.RateLimitFilter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -10,15 +13,20 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+@Slf4j
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -26,6 +34,7 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -37,7 +46,8 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**", "/health").permitAll()
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(rateLimitFilter, JwtAuthFilter.class);
 
         return http.build();
     }
@@ -48,6 +58,7 @@ public class SecurityConfig {
         config.setAllowedOriginPatterns(List.of("*"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of("X-Next-Cursor", "X-Has-More", "Retry-After"));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -55,8 +66,48 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * Hashes are stored as {@code {id}hash}; new ones use {@code security.password.encoder}
+     * (bcrypt or pbkdf2). Legacy unprefixed hashes are plain BCrypt and, like hashes from
+     * an older encoder or a lower BCrypt cost, are rehashed on the next successful login.
+     * {@code security.password.bcrypt-strength=auto} calibrates the cost to this machine.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password.encoder:bcrypt}") String encoderId,
+            @Value("${security.password.bcrypt-strength:10}") String bcryptStrength,
+            @Value("${security.password.bcrypt-target-ms:250}") long bcryptTargetMs) {
+        int strength = "auto".equalsIgnoreCase(bcryptStrength)
+                ? calibrateBcryptStrength(bcryptTargetMs)
+                : Integer.parseInt(bcryptStrength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(strength));
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(encoderId)) {
+            throw new IllegalStateException("Unsupported security.password.encoder: " + encoderId);
+        }
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(encoderId, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        log.info("[Security] Password encoder: {} (bcrypt strength {})", encoderId, strength);
+        return encoder;
+    }
+
+    // Highest cost whose single hash stays within the target; never below the old default of 10
+    private static int calibrateBcryptStrength(long targetMs) {
+        int probe = 8;
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(probe);
+        encoder.encode("calibration"); // warm-up
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double probeMs = Math.max(best / 1_000_000.0, 0.01);
+        // Each extra cost step doubles the work
+        int strength = probe + (int) Math.floor(Math.log(targetMs / probeMs) / Math.log(2));
+        return Math.max(10, Math.min(14, strength));
     }
 }
@@ -1,12 +1,18 @@
 package com.backend.ecoally.controller;
 
 import com.backend.ecoally.dto.response.ApiResponse;
+import com.backend.ecoally.events.AwakeReportChangedEvent;
 import com.backend.ecoally.model.AwakeReport;
 import com.backend.ecoally.model.User;
 import com.backend.ecoally.repository.AwakeReportRepository;
 import com.backend.ecoally.repository.UserRepository;
+import com.backend.ecoally.service.AwakeReportDedupService;
+import com.backend.ecoally.service.AwakeReportFeedService;
+import com.backend.ecoally.service.MapClusterService;
 import com.backend.ecoally.service.StorageService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +22,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -26,28 +33,62 @@ public class AwakeMapController {
     private final AwakeReportRepository awakeReportRepository;
     private final UserRepository userRepository;
     private final StorageService storageService;
+    private final MapClusterService mapClusterService;
+    private final AwakeReportFeedService awakeReportFeedService;
+    private final AwakeReportDedupService awakeReportDedupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ── GET /api/awakemap/reports ─────────────────────────────────────────────
-    // Returns all reports (optionally filtered: ?status=OPEN or ?status=RESOLVED)
+    // Keyset-paged report feed, newest first (optionally ?status=OPEN or ?status=RESOLVED).
+    // Narrow to the viewport with minLat/minLng/maxLat/maxLng and pass back X-Next-Cursor
+    // for the next page. With ?since=<ISO time> only reports changed after that instant are
+    // returned (oldest change first) whatever their status, so status changes reach filtered
+    // clients; X-Next-Cursor is then the token for the next sync. Without cursor, limit or
+    // since the full list is returned unpaged.
     @GetMapping("/reports")
     public ResponseEntity<ApiResponse<List<AwakeReport>>> getReports(
-            @RequestParam(required = false) String status) {
-
-        List<AwakeReport> reports;
-
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "-90") double minLat,
+            @RequestParam(defaultValue = "-180") double minLng,
+            @RequestParam(defaultValue = "90") double maxLat,
+            @RequestParam(defaultValue = "180") double maxLng,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) Integer limit) {
+
+        AwakeReport.ReportStatus s = null;
         if (status != null) {
             try {
-                AwakeReport.ReportStatus s = AwakeReport.ReportStatus.valueOf(status.toUpperCase());
-                reports = awakeReportRepository.findByStatusOrderByCreatedAtDesc(s);
+                s = AwakeReport.ReportStatus.valueOf(status.toUpperCase());
             } catch (IllegalArgumentException e) {
                 return ResponseEntity.badRequest()
                         .body(ApiResponse.error("Invalid status value. Use OPEN or RESOLVED."));
             }
-        } else {
-            reports = awakeReportRepository.findAllByOrderByCreatedAtDesc();
         }
 
-        return ResponseEntity.ok(ApiResponse.success(reports));
+        AwakeReportFeedService.FeedPage page = awakeReportFeedService.getReports(
+                s, minLat, minLng, maxLat, maxLng, cursor, since, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header("X-Has-More", String.valueOf(page.hasMore()));
+        if (page.nextCursor() != null) {
+            response.header("X-Next-Cursor", page.nextCursor());
+        }
+        return response.body(ApiResponse.success(page.reports()));
+    }
+
+    // ── GET /api/awakemap/clusters ────────────────────────────────────────────
+    // Aggregated cluster markers (count, centroid, dominant status) for low zooms
+    @GetMapping("/clusters")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getClusters(
+            @RequestParam int zoom,
+            @RequestParam(defaultValue = "-90") double minLat,
+            @RequestParam(defaultValue = "-180") double minLng,
+            @RequestParam(defaultValue = "90") double maxLat,
+            @RequestParam(defaultValue = "180") double maxLng) {
+
+        return ResponseEntity.ok(ApiResponse.success(
+                mapClusterService.getAwakeClusters(zoom, minLat, minLng, maxLat, maxLng)));
     }
 
     // ── POST /api/awakemap/reports ────────────────────────────────────────────
@@ -67,6 +108,17 @@ public class AwakeMapController {
         }
         User user = userOpt.get();
 
+        // Same spot already reported and still open — count it as a corroboration, skip the upload
+        Optional<AwakeReport> nearby = awakeReportDedupService.findNearbyOpen(lat, lng);
+        if (nearby.isPresent()) {
+            AwakeReportDedupService.Corroboration corroboration =
+                    awakeReportDedupService.corroborate(nearby.get(), user.getId());
+            String message = corroboration.counted()
+                    ? "This location was already reported. Your report was added as a confirmation."
+                    : "You have already reported or confirmed this location.";
+            return ResponseEntity.ok(ApiResponse.success(message, corroboration.report()));
+        }
+
         // Upload before-photo to Cloudinary under the "awake_map" folder
         String photoUrl;
         try {
@@ -86,6 +138,8 @@ public class AwakeMapController {
         report.setStatus(AwakeReport.ReportStatus.OPEN);
 
         AwakeReport saved = awakeReportRepository.save(report);
+        eventPublisher.publishEvent(new AwakeReportChangedEvent(
+                saved.getId(), saved.getLat(), saved.getLng(), null, saved.getStatus()));
         return ResponseEntity.ok(ApiResponse.success("Report submitted successfully.", saved));
     }
 
@@ -132,6 +186,9 @@ public class AwakeMapController {
         report.setResolvedByName(user.getFullName());
 
         AwakeReport updated = awakeReportRepository.save(report);
+        eventPublisher.publishEvent(new AwakeReportChangedEvent(
+                updated.getId(), updated.getLat(), updated.getLng(),
+                AwakeReport.ReportStatus.OPEN, updated.getStatus()));
         return ResponseEntity.ok(ApiResponse.success("Marked as resolved. Thank you!", updated));
     }
 }
@@ -1,9 +1,11 @@
 package com.backend.ecoally.controller;
 
+import com.backend.ecoally.cache.TwoTierCacheManager;
 import com.backend.ecoally.dto.request.CreateChallengeRequest;
 import com.backend.ecoally.dto.request.ReviewSubmissionRequest;
 import com.backend.ecoally.dto.response.ApiResponse;
 import com.backend.ecoally.dto.response.MLAnalysisResult;
+import com.backend.ecoally.events.SubmissionApprovedEvent;
 import com.backend.ecoally.exception.AppException;
 import com.backend.ecoally.kafka.ChallengeSubmissionProducer;
 import com.backend.ecoally.model.*;
@@ -12,11 +14,14 @@ import com.backend.ecoally.service.EcoLensService;
 import com.backend.ecoally.service.PointsService;
 import com.backend.ecoally.service.StorageService;
 import com.backend.ecoally.service.StreakService;
+import jakarta.annotation.PostConstruct;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -46,6 +51,8 @@ public class ChallengeController {
     private final PointsService pointsService;
     private final StreakService streakService;
     private final EcoLensService ecoLensService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
 
     // Null when kafka.enabled=false — optional bean
     @Autowired(required = false)
@@ -77,12 +84,25 @@ public class ChallengeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(saved));
     }
 
+    // Refresh-ahead rebuilds the list from the cache key alone, never by replaying a request
+    @PostConstruct
+    void registerCacheRefresh() {
+        if (cacheManager instanceof TwoTierCacheManager twoTier) {
+            twoTier.registerRefreshLoader("challenges",
+                    key -> listChallenges(User.UserType.valueOf(key.toString())));
+        }
+    }
+
     @GetMapping
-    @Cacheable(value = "challenges", key = "#user.userType.name()")
+    @Cacheable(value = "challenges", sync = true, key = "#user.userType.name()")
     public ResponseEntity<ApiResponse<List<Challenge>>> getAllChallenges(
             @AuthenticationPrincipal User user) {
+        return listChallenges(user.getUserType());
+    }
+
+    private ResponseEntity<ApiResponse<List<Challenge>>> listChallenges(User.UserType userType) {
         List<Challenge> challenges;
-        if (user.getUserType() == User.UserType.STUDENT) {
+        if (userType == User.UserType.STUDENT) {
             challenges = challengeRepository.findByIsPublishedTrueOrderByCreatedAtDesc();
         } else {
             challenges = challengeRepository.findAllByOrderByCreatedAtDesc();
@@ -257,6 +277,7 @@ public class ChallengeController {
         }
 
         ChallengeSubmission saved = submissionRepository.save(submission);
+        publishIfApproved(saved);
         streakService.updateStreak(student.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(saved));
     }
@@ -376,6 +397,19 @@ public class ChallengeController {
         }
 
         ChallengeSubmission saved = submissionRepository.save(submission);
+        publishIfApproved(saved);
         return ResponseEntity.ok(ApiResponse.success(saved));
     }
+
+    private void publishIfApproved(ChallengeSubmission submission) {
+        if (submission.getStatus() == ChallengeSubmission.SubmissionStatus.APPROVED) {
+            eventPublisher.publishEvent(new SubmissionApprovedEvent(
+                    submission.getId(),
+                    submission.getStudentId(),
+                    submission.getGeoLat(),
+                    submission.getGeoLng(),
+                    submission.getDetectedSpecies(),
+                    submission.getIsNativeSpecies()));
+        }
+    }
 }
@@ -7,20 +7,22 @@ import com.backend.ecoally.model.User;
 import com.backend.ecoally.repository.ChallengeSubmissionRepository;
 import com.backend.ecoally.repository.StudentRepository;
 import com.backend.ecoally.repository.UserRepository;
+import com.backend.ecoally.service.EcoMapStatsService;
+import com.backend.ecoally.service.HeatmapTileService;
+import com.backend.ecoally.service.MapClusterService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 
 @RestController
@@ -31,6 +33,9 @@ public class EcoMapController {
     private final ChallengeSubmissionRepository submissionRepository;
     private final StudentRepository studentRepository;
     private final UserRepository userRepository;
+    private final MapClusterService mapClusterService;
+    private final EcoMapStatsService ecoMapStatsService;
+    private final HeatmapTileService heatmapTileService;
 
     /**
      * Returns all approved geo-tagged submissions for the EcoMap.
@@ -100,30 +105,41 @@ public class EcoMapController {
         return ResponseEntity.ok(ApiResponse.success(pins));
     }
 
+    /**
+     * Returns aggregated cluster markers for the given zoom and bbox.
+     * Each marker carries the pin count, centroid and dominant detected species,
+     * so low-zoom views no longer need every individual pin.
+     */
+    @GetMapping("/clusters")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getEcoMapClusters(
+            @RequestParam int zoom,
+            @RequestParam(defaultValue = "-90") double minLat,
+            @RequestParam(defaultValue = "-180") double minLng,
+            @RequestParam(defaultValue = "90") double maxLat,
+            @RequestParam(defaultValue = "180") double maxLng) {
+
+        return ResponseEntity.ok(ApiResponse.success(
+                mapClusterService.getEcoClusters(zoom, minLat, minLng, maxLat, maxLng)));
+    }
+
+    /**
+     * Returns the heatmap density grids for one slippy-map tile: approved eco-actions
+     * and open AwakeMap reports, binned on a fixed grid inside the tile.
+     */
+    @GetMapping("/tiles/{z}/{x}/{y}")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getHeatmapTile(
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y) {
+        return ResponseEntity.ok(ApiResponse.success(heatmapTileService.getTile(z, x, y)));
+    }
+
     /**
      * Returns biodiversity stats for the map header.
+     * Served from the incrementally maintained aggregate — a single row read.
      */
     @GetMapping("/stats")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getEcoMapStats() {
-        List<ChallengeSubmission> all = submissionRepository
-                .findByStatusAndGeoLatIsNotNullAndGeoLngIsNotNullOrderByCreatedAtDesc(
-                        ChallengeSubmission.SubmissionStatus.APPROVED, PageRequest.of(0, 10000));
-
-        long totalPins = all.stream().filter(s -> s.getGeoLat() != null).count();
-        long nativeSpeciesCount = all.stream()
-                .filter(s -> Boolean.TRUE.equals(s.getIsNativeSpecies()))
-                .count();
-        long uniqueSpeciesCount = all.stream()
-                .map(ChallengeSubmission::getDetectedSpecies)
-                .filter(Objects::nonNull)
-                .distinct()
-                .count();
-
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalPins", totalPins);
-        stats.put("nativeSpeciesCount", nativeSpeciesCount);
-        stats.put("uniqueSpeciesCount", uniqueSpeciesCount);
-
-        return ResponseEntity.ok(ApiResponse.success(stats));
+        return ResponseEntity.ok(ApiResponse.success(ecoMapStatsService.getStats()));
     }
 }
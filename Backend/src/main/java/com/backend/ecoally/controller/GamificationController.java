@@ -6,13 +6,13 @@ import com.backend.ecoally.model.Student;
 import com.backend.ecoally.model.User;
 import com.backend.ecoally.repository.StudentRepository;
 import com.backend.ecoally.service.QuestService;
+import com.backend.ecoally.service.StoreService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -23,6 +23,7 @@ public class GamificationController {
 
     private final QuestService questService;
     private final StudentRepository studentRepository;
+    private final StoreService storeService;
 
     @GetMapping("/quests")
     @PreAuthorize("hasRole('STUDENT')")
@@ -51,21 +52,10 @@ public class GamificationController {
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<ApiResponse<Map<String, Object>>> purchaseStreakShield(
             @AuthenticationPrincipal User user) {
-        Student student = studentRepository.findByUserId(user.getId())
+        Long studentId = studentRepository.findIdByUserId(user.getId())
                 .orElseThrow(() -> AppException.notFound("Student profile not found"));
 
-        final int SHIELD_COST = 250;
-        if (student.getCoins() < SHIELD_COST) {
-            throw AppException.badRequest("Not enough coins to buy a shield");
-        }
-
-        student.setCoins(student.getCoins() - SHIELD_COST);
-        student.setStreakShields(student.getStreakShields() + 1);
-        studentRepository.save(student);
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("coins", student.getCoins());
-        result.put("streakShields", student.getStreakShields());
+        Map<String, Object> result = storeService.purchaseStreakShield(studentId);
         return ResponseEntity.ok(ApiResponse.success("Shield purchased", result));
     }
 }
@@ -4,19 +4,20 @@ import com.backend.ecoally.dto.request.CreateQuizRequest;
 import com.backend.ecoally.dto.request.SubmitQuizRequest;
 import com.backend.ecoally.dto.response.ApiResponse;
 import com.backend.ecoally.exception.AppException;
+import com.backend.ecoally.grading.QuizAnswerKey;
 import com.backend.ecoally.model.*;
 import com.backend.ecoally.repository.QuizAttemptRepository;
 import com.backend.ecoally.repository.QuizRepository;
 import com.backend.ecoally.repository.StudentRepository;
-import com.backend.ecoally.service.PointsService;
-import com.backend.ecoally.service.QuestService;
-import com.backend.ecoally.service.StreakService;
+import com.backend.ecoally.service.QuizCacheService;
+import com.backend.ecoally.service.QuizGradingService;
+import com.backend.ecoally.service.QuizItemStatsService;
+import com.backend.ecoally.service.QuizSubmissionService;
+import com.backend.ecoally.service.QuizViewService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -33,65 +34,43 @@ public class QuizController {
     private final QuizRepository quizRepository;
     private final QuizAttemptRepository quizAttemptRepository;
     private final StudentRepository studentRepository;
-    private final PointsService pointsService;
-    private final StreakService streakService;
-    private final QuestService questService;
+    private final QuizCacheService quizCacheService;
+    private final QuizViewService quizViewService;
+    private final QuizGradingService quizGradingService;
+    private final QuizSubmissionService quizSubmissionService;
+    private final QuizItemStatsService quizItemStatsService;
 
+    // Served from pre-rendered JSON (see QuizViewService) — answers never reach students
     @GetMapping
-    @Cacheable(value = "quizzes", key = "'list_' + (#topic ?: 'all') + '_' + (#difficulty ?: 'all')")
-    public ResponseEntity<ApiResponse<List<Quiz>>> getAllQuizzes(
+    public ResponseEntity<byte[]> getAllQuizzes(
             @RequestParam(required = false) String topic,
             @RequestParam(required = false) String difficulty) {
 
-        List<Quiz> quizzes;
-
-        if (topic != null && difficulty != null) {
-            quizzes = quizRepository.findByIsPublishedTrueAndTopicAndDifficultyOrderByCreatedAtDesc(
-                    topic, Quiz.Difficulty.valueOf(difficulty));
-        } else if (topic != null) {
-            quizzes = quizRepository.findByIsPublishedTrueAndTopicOrderByCreatedAtDesc(topic);
-        } else if (difficulty != null) {
-            quizzes = quizRepository.findByIsPublishedTrueAndDifficultyOrderByCreatedAtDesc(
-                    Quiz.Difficulty.valueOf(difficulty));
-        } else {
-            quizzes = quizRepository.findByIsPublishedTrueOrderByCreatedAtDesc();
-        }
-
-        // Remove correct answers for returned list
-        quizzes.forEach(q -> {
-            if (q.getQuestions() != null) {
-                q.getQuestions().forEach(question -> {
-                    question.setCorrectAnswer(-1);
-                    question.setExplanation(null);
-                });
+        Quiz.Difficulty level = null;
+        if (difficulty != null) {
+            try {
+                level = Quiz.Difficulty.valueOf(difficulty);
+            } catch (IllegalArgumentException e) {
+                throw AppException.badRequest("Invalid difficulty. Use EASY, MEDIUM or HARD.");
             }
-        });
+        }
 
-        return ResponseEntity.ok(ApiResponse.success(quizzes));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(quizViewService.getListResponse(topic, level));
     }
 
     @GetMapping("/{id}")
-    @Cacheable(value = "quizzes", key = "'id_' + #id + '_' + #user.userType.name()")
-    public ResponseEntity<ApiResponse<Quiz>> getQuizById(
+    public ResponseEntity<byte[]> getQuizById(
             @PathVariable Long id,
             @AuthenticationPrincipal User user) {
-        Quiz quiz = quizRepository.findById(id)
-                .orElseThrow(() -> AppException.notFound("Quiz not found"));
-
-        if (user.getUserType() == User.UserType.STUDENT) {
-            // Sanitize for students
-            quiz.getQuestions().forEach(q -> {
-                q.setCorrectAnswer(-1);
-                q.setExplanation(null);
-            });
-        }
-
-        return ResponseEntity.ok(ApiResponse.success(quiz));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(quizViewService.getQuizResponse(id, user.getUserType()));
     }
 
     @PostMapping
     @PreAuthorize("hasRole('TEACHER')")
-    @CacheEvict(value = "quizzes", allEntries = true)
     public ResponseEntity<ApiResponse<Quiz>> createQuiz(
             @Valid @RequestBody CreateQuizRequest request,
             @AuthenticationPrincipal User user) {
@@ -120,16 +99,12 @@ public class QuizController {
         }
 
         Quiz saved = quizRepository.save(quiz);
+        quizCacheService.quizChanged(null, saved);
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(saved));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('TEACHER')")
-    @Caching(evict = {
-            @CacheEvict(value = "quizzes", key = "'id_' + #id + '_STUDENT'"),
-            @CacheEvict(value = "quizzes", key = "'id_' + #id + '_TEACHER'"),
-            @CacheEvict(value = "quizzes", allEntries = true)
-    })
     public ResponseEntity<ApiResponse<Quiz>> updateQuiz(
             @PathVariable Long id,
             @RequestBody CreateQuizRequest request,
@@ -140,6 +115,7 @@ public class QuizController {
         if (!quiz.getCreatedBy().equals(user.getId())) {
             throw AppException.forbidden("Not authorized to update this quiz");
         }
+        QuizCacheService.ListingKey before = QuizCacheService.ListingKey.of(quiz);
 
         if (request.getTitle() != null)
             quiz.setTitle(request.getTitle());
@@ -166,12 +142,16 @@ public class QuizController {
         }
 
         Quiz updated = quizRepository.save(quiz);
+        if (request.getQuestions() != null) {
+            // Replaced questions get new ids; their old counts no longer apply
+            quizItemStatsService.deleteForQuiz(id);
+        }
+        quizCacheService.quizChanged(before, updated);
         return ResponseEntity.ok(ApiResponse.success(updated));
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('TEACHER')")
-    @CacheEvict(value = "quizzes", allEntries = true)
     public ResponseEntity<ApiResponse<Void>> deleteQuiz(
             @PathVariable Long id,
             @AuthenticationPrincipal User user) {
@@ -183,6 +163,8 @@ public class QuizController {
         }
 
         quizRepository.delete(quiz);
+        quizItemStatsService.deleteForQuiz(id);
+        quizCacheService.quizChanged(QuizCacheService.ListingKey.of(quiz), null);
         return ResponseEntity.ok(ApiResponse.success("Quiz deleted successfully", null));
     }
 
@@ -193,86 +175,13 @@ public class QuizController {
             @RequestBody SubmitQuizRequest request,
             @AuthenticationPrincipal User user) {
 
-        Quiz quiz = quizRepository.findById(id)
-                .orElseThrow(() -> AppException.notFound("Quiz not found"));
+        QuizAnswerKey answerKey = quizGradingService.getAnswerKey(id);
 
-        if (!quiz.isPublished()) {
+        if (!answerKey.isPublished()) {
             throw AppException.badRequest("Quiz is not published");
         }
 
-        Student student = studentRepository.findByUserId(user.getId())
-                .orElseThrow(() -> AppException.notFound("Student profile not found"));
-
-        // Calculate score
-        // answers map uses String keys (question id as string) from the client
-        int correctAnswers = 0;
-        for (Question question : quiz.getQuestions()) {
-            String qKey = question.getId().toString();
-            Integer userAnswer = request.getAnswers().get(qKey);
-            if (userAnswer != null && userAnswer == question.getCorrectAnswer()) {
-                correctAnswers++;
-            }
-        }
-
-        int totalQuestions = quiz.getQuestions().size();
-        int score = totalQuestions > 0 ? Math.round((float) correctAnswers / totalQuestions * 100) : 0;
-
-        Map<String, Integer> rewards = pointsService.calculateQuizRewards(
-                quiz.getDifficulty().name(), score);
-
-        // Save attempt (answers keyed by String for JSONB storage)
-        QuizAttempt attempt = new QuizAttempt();
-        attempt.setStudentId(student.getId());
-        attempt.setQuizId(quiz.getId());
-        attempt.setScore(score);
-        attempt.setTotalQuestions(totalQuestions);
-        attempt.setCorrectAnswers(correctAnswers);
-        attempt.setPointsEarned(rewards.get("points"));
-        attempt.setAnswers(request.getAnswers());
-        attempt.setTimeTaken(request.getTimeTaken());
-        quizAttemptRepository.save(attempt);
-
-        // Award points
-        Map<String, Object> pointsUpdate = pointsService.addPoints(
-                student.getId(), rewards.get("points"), rewards.get("coins"));
-
-        // Update streak
-        Map<String, Object> streakUpdate = streakService.updateStreak(student.getId());
-
-        // Update quests
-        questService.updateQuestProgress(student.getId(), Quest.QuestType.DAILY, 1);
-        questService.updateQuestProgress(student.getId(), Quest.QuestType.WEEKLY, 1);
-
-        // Build detailed results
-        List<Map<String, Object>> questionResults = quiz.getQuestions().stream().map(q -> {
-            String qKey = q.getId().toString();
-            Map<String, Object> qResult = new HashMap<>();
-            qResult.put("_id", q.getId());
-            qResult.put("text", q.getText());
-            qResult.put("options", q.getOptions());
-            qResult.put("correctAnswer", q.getCorrectAnswer());
-            qResult.put("explanation", q.getExplanation());
-            qResult.put("userAnswer", request.getAnswers().get(qKey));
-            qResult.put("isCorrect", Objects.equals(request.getAnswers().get(qKey), q.getCorrectAnswer()));
-            return qResult;
-        }).collect(Collectors.toList());
-
-        Map<String, Object> attemptSummary = new HashMap<>();
-        attemptSummary.put("_id", attempt.getId());
-        attemptSummary.put("score", score);
-        attemptSummary.put("correctAnswers", correctAnswers);
-        attemptSummary.put("totalQuestions", totalQuestions);
-        attemptSummary.put("pointsEarned", rewards.get("points"));
-        attemptSummary.put("coinsEarned", rewards.get("coins"));
-
-        Map<String, Object> gamification = new HashMap<>();
-        gamification.putAll(pointsUpdate);
-        gamification.putAll(streakUpdate);
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("attempt", attemptSummary);
-        result.put("gamification", gamification);
-        result.put("questions", questionResults);
+        Map<String, Object> result = quizSubmissionService.submit(user.getId(), answerKey, request);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(result));
     }
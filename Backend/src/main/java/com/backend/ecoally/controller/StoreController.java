@@ -3,9 +3,10 @@ package com.backend.ecoally.controller;
 import com.backend.ecoally.dto.request.PurchaseRequest;
 import com.backend.ecoally.dto.response.ApiResponse;
 import com.backend.ecoally.exception.AppException;
-import com.backend.ecoally.model.Student;
 import com.backend.ecoally.model.User;
 import com.backend.ecoally.repository.StudentRepository;
+import com.backend.ecoally.service.StoreCatalog;
+import com.backend.ecoally.service.StoreService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -13,7 +14,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -23,10 +23,12 @@ import java.util.Map;
 public class StoreController {
 
     private final StudentRepository studentRepository;
+    private final StoreService storeService;
+    private final StoreCatalog storeCatalog;
 
     /**
      * POST /api/store/purchase
-     * Deducts coins and adds the item to the student's owned list.
+     * Deducts the catalog price and adds the item to the student's owned list.
      */
     @PostMapping("/purchase")
     @PreAuthorize("hasRole('STUDENT')")
@@ -34,23 +36,10 @@ public class StoreController {
             @Valid @RequestBody PurchaseRequest request,
             @AuthenticationPrincipal User user) {
 
-        Student student = studentRepository.findByUserId(user.getId())
+        Long studentId = studentRepository.findIdByUserId(user.getId())
                 .orElseThrow(() -> AppException.notFound("Student not found"));
 
-        if (student.getCoins() < request.getCost()) {
-            throw AppException.badRequest("Not enough coins");
-        }
-        if (student.getOwnedItems().contains(request.getItemId())) {
-            throw AppException.badRequest("Item already owned");
-        }
-
-        student.setCoins(student.getCoins() - request.getCost());
-        student.getOwnedItems().add(request.getItemId());
-        studentRepository.save(student);
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("coins", student.getCoins());
-        result.put("ownedItems", student.getOwnedItems());
+        Map<String, Object> result = storeService.purchaseItem(studentId, request.getItemId());
         return ResponseEntity.ok(ApiResponse.success("Purchase successful", result));
     }
 
@@ -59,9 +48,9 @@ public class StoreController {
     public ResponseEntity<ApiResponse<List<String>>> getOwnedItems(
             @AuthenticationPrincipal User user) {
 
-        Student student = studentRepository.findByUserId(user.getId())
+        long ownedItemsMask = studentRepository.findOwnedItemsMaskByUserId(user.getId())
                 .orElseThrow(() -> AppException.notFound("Student not found"));
 
-        return ResponseEntity.ok(ApiResponse.success(student.getOwnedItems()));
+        return ResponseEntity.ok(ApiResponse.success(storeCatalog.idsOf(ownedItemsMask)));
     }
 }
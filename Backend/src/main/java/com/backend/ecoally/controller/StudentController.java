@@ -10,6 +10,7 @@ import com.backend.ecoally.repository.ChallengeSubmissionRepository;
 import com.backend.ecoally.repository.QuizAttemptRepository;
 import com.backend.ecoally.repository.StudentRepository;
 import com.backend.ecoally.repository.UserRepository;
+import com.backend.ecoally.security.PrincipalCache;
 import com.backend.ecoally.service.StorageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -32,6 +33,7 @@ public class StudentController {
     private final QuizAttemptRepository quizAttemptRepository;
     private final ChallengeSubmissionRepository submissionRepository;
     private final StorageService storageService;
+    private final PrincipalCache principalCache;
 
     /**
      * GET /api/students/profile
@@ -82,7 +84,10 @@ public class StudentController {
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<ApiResponse<Map<String, Object>>> updateProfile(
             @RequestBody UpdateProfileRequest request,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal User principal) {
+        // The principal may be stale; save a freshly loaded row so no other column is rolled back
+        User user = userRepository.findById(principal.getId())
+                .orElseThrow(() -> AppException.notFound("User not found"));
 
         if (request.getFirstName() != null)
             user.setFirstName(request.getFirstName());
@@ -96,6 +101,7 @@ public class StudentController {
             user.setAvatarUrl(request.getAvatarUrl());
 
         userRepository.save(user);
+        principalCache.evict(user.getId());
 
         Map<String, Object> updated = new HashMap<>();
         updated.put("name", user.getFullName());
@@ -114,11 +120,14 @@ public class StudentController {
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<ApiResponse<Map<String, String>>> uploadAvatar(
             @RequestParam("file") MultipartFile file,
-            @AuthenticationPrincipal User user) throws IOException {
+            @AuthenticationPrincipal User principal) throws IOException {
 
         String url = storageService.uploadImage(file, "avatars");
+        User user = userRepository.findById(principal.getId())
+                .orElseThrow(() -> AppException.notFound("User not found"));
         user.setAvatarUrl(url);
         userRepository.save(user);
+        principalCache.evict(user.getId());
 
         return ResponseEntity.ok(ApiResponse.success(Map.of("avatarUrl", url)));
     }
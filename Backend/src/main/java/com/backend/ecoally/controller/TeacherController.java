@@ -14,6 +14,8 @@ import com.backend.ecoally.repository.QuizRepository;
 import com.backend.ecoally.repository.StudentRepository;
 import com.backend.ecoally.repository.TeacherRepository;
 import com.backend.ecoally.repository.UserRepository;
+import com.backend.ecoally.security.PrincipalCache;
+import com.backend.ecoally.service.QuizItemStatsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -39,6 +41,8 @@ public class TeacherController {
     private final QuizRepository quizRepository;
     private final ChallengeRepository challengeRepository;
     private final TeacherRepository teacherRepository;
+    private final PrincipalCache principalCache;
+    private final QuizItemStatsService quizItemStatsService;
 
     @GetMapping("/overview")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getOverview(
@@ -164,6 +168,18 @@ public class TeacherController {
         return ResponseEntity.ok(ApiResponse.success(result));
     }
 
+    @GetMapping("/quizzes/{id}/item-stats")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getQuizItemStats(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User user) {
+        com.backend.ecoally.model.Quiz quiz = quizRepository.findById(id)
+                .orElseThrow(() -> AppException.notFound("Quiz not found"));
+        if (!quiz.getCreatedBy().equals(user.getId())) {
+            throw AppException.forbidden("Not authorized to view this quiz");
+        }
+        return ResponseEntity.ok(ApiResponse.success(quizItemStatsService.getItemStats(quiz)));
+    }
+
     @GetMapping("/challenges")
     public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getMyChallenges(
             @AuthenticationPrincipal User user) {
@@ -207,7 +223,10 @@ public class TeacherController {
     @PutMapping("/profile")
     public ResponseEntity<ApiResponse<Map<String, Object>>> updateProfile(
             @RequestBody Map<String, String> req,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal User principal) {
+        // Never save the cached principal — see PrincipalCache
+        User user = userRepository.findById(principal.getId())
+                .orElseThrow(() -> AppException.notFound("User not found"));
         Teacher teacher = teacherRepository.findByUserId(user.getId())
                 .orElseThrow(() -> AppException.notFound("Teacher not found"));
 
@@ -229,6 +248,7 @@ public class TeacherController {
 
         userRepository.save(user);
         teacherRepository.save(teacher);
+        principalCache.evict(user.getId());
 
         return ResponseEntity.ok(ApiResponse.success(Map.of("message", "Profile updated")));
     }
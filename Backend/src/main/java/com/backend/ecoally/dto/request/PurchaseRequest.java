@@ -1,6 +1,5 @@
 package com.backend.ecoally.dto.request;
 
-import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
@@ -10,6 +9,6 @@ public class PurchaseRequest {
     @NotBlank
     private String itemId;
 
-    @Min(1)
-    private int cost;
+    // Display price sent by older clients; ignored — the server charges the catalog price
+    private Integer cost;
 }
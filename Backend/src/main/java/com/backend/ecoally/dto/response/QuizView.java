@@ -0,0 +1,71 @@
+package com.backend.ecoally.dto.response;
+
+import com.backend.ecoally.model.Question;
+import com.backend.ecoally.model.Quiz;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable, read-only quiz payload. Built from the entity once per quiz version and
+ * never handed back to JPA, so hiding answers can't leak into a managed entity or into
+ * another role's cached copy. Field names match the former entity JSON.
+ */
+@Value
+public class QuizView {
+
+    Long id;
+    String title;
+    String description;
+    String topic;
+    Quiz.Difficulty difficulty;
+    int timeLimit;
+    boolean published;
+    Long createdBy;
+    List<QuestionView> questions;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+
+    @Value
+    public static class QuestionView implements Serializable {
+        Long id;
+        String text;
+        String option0;
+        String option1;
+        String option2;
+        String option3;
+        // -1 for students until they submit
+        int correctAnswer;
+        String explanation;
+        int questionOrder;
+        List<String> options;
+    }
+
+    /** Answers and explanations stripped. */
+    public static QuizView forStudent(Quiz quiz) {
+        return of(quiz, false);
+    }
+
+    public static QuizView forTeacher(Quiz quiz) {
+        return of(quiz, true);
+    }
+
+    private static QuizView of(Quiz quiz, boolean withAnswers) {
+        List<QuestionView> questions = quiz.getQuestions() == null ? List.of()
+                : quiz.getQuestions().stream()
+                        .sorted(Comparator.comparingInt(Question::getQuestionOrder))
+                        .map(q -> new QuestionView(q.getId(), q.getText(),
+                                q.getOption0(), q.getOption1(), q.getOption2(), q.getOption3(),
+                                withAnswers ? q.getCorrectAnswer() : -1,
+                                withAnswers ? q.getExplanation() : null,
+                                q.getQuestionOrder(), q.getOptions()))
+                        .toList();
+
+        return new QuizView(quiz.getId(), quiz.getTitle(), quiz.getDescription(), quiz.getTopic(),
+                quiz.getDifficulty(), quiz.getTimeLimit(), quiz.isPublished(), quiz.getCreatedBy(),
+                questions, quiz.getCreatedAt(), quiz.getUpdatedAt());
+    }
+}
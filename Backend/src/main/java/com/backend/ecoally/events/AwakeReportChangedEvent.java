@@ -0,0 +1,21 @@
+package com.backend.ecoally.events;
+
+import com.backend.ecoally.model.AwakeReport;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published in-process when an AwakeMap report is filed ({@code previousStatus == null})
+ * or changes status (e.g. OPEN → RESOLVED).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AwakeReportChangedEvent {
+    private Long reportId;
+    private Double lat;
+    private Double lng;
+    private AwakeReport.ReportStatus previousStatus;
+    private AwakeReport.ReportStatus status;
+}
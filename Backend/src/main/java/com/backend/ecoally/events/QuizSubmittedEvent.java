@@ -0,0 +1,17 @@
+package com.backend.ecoally.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published in-process when a student's quiz attempt has been graded and saved.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuizSubmittedEvent {
+    private Long studentId;
+    private Long quizId;
+    private int score;
+}
@@ -0,0 +1,17 @@
+package com.backend.ecoally.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published in-process when a student's daily activity moves their streak
+ * (extended, shielded, broken or started). Not published for repeat activity on the same day.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StreakUpdatedEvent {
+    private Long studentId;
+    private int currentStreak;
+}
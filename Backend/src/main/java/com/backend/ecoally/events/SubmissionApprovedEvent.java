@@ -0,0 +1,21 @@
+package com.backend.ecoally.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published in-process whenever a challenge submission transitions to APPROVED,
+ * whether by EcoLens auto-approval (sync or Kafka path) or by teacher review.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubmissionApprovedEvent {
+    private Long submissionId;
+    private Long studentId;
+    private Double geoLat;
+    private Double geoLng;
+    private String detectedSpecies;
+    private Boolean isNativeSpecies;
+}
@@ -26,4 +26,7 @@ public class AppException extends RuntimeException {
     public static AppException badRequest(String message) {
         return new AppException(message, HttpStatus.BAD_REQUEST);
     }
+    public static AppException serviceUnavailable(String message) {
+        return new AppException(message, HttpStatus.SERVICE_UNAVAILABLE);
+    }
 }
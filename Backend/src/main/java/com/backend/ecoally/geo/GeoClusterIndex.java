@@ -0,0 +1,161 @@
+package com.backend.ecoally.geo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory grid pyramid of map points, one level per zoom from 0 to {@code maxZoom}.
+ * <p>
+ * At zoom {@code z} the world is split into {@code 2^(z + CELL_BITS)} cells per axis
+ * (four 64px cells per 256px tile edge). Every point is counted once per level, so
+ * adding or re-categorising a point touches exactly {@code maxZoom + 1} cells and a
+ * bbox query only reads the cells it covers. Points are never removed: approved
+ * submissions and AwakeMap reports are not deleted, and resolving a report only
+ * re-categorises it.
+ */
+public class GeoClusterIndex {
+
+    public static final int CELL_BITS = 2;
+
+    private final int maxZoom;
+    private final List<Map<Long, Cell>> levels;
+
+    public GeoClusterIndex(int maxZoom) {
+        this.maxZoom = maxZoom;
+        this.levels = new ArrayList<>(maxZoom + 1);
+        for (int z = 0; z <= maxZoom; z++) {
+            levels.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    public void add(double lat, double lng, String category) {
+        double x = WebMercator.x(lng);
+        double y = WebMercator.y(lat);
+        for (int z = 0; z <= maxZoom; z++) {
+            levels.get(z).compute(key(x, y, z), (k, cell) -> {
+                Cell target = cell != null ? cell : new Cell();
+                target.add(lat, lng, category);
+                return target;
+            });
+        }
+    }
+
+    public void recategorize(double lat, double lng, String from, String to) {
+        double x = WebMercator.x(lng);
+        double y = WebMercator.y(lat);
+        for (int z = 0; z <= maxZoom; z++) {
+            Cell cell = levels.get(z).get(key(x, y, z));
+            if (cell != null) {
+                cell.recategorize(from, to);
+            }
+        }
+    }
+
+    /**
+     * Returns one cluster per non-empty cell intersecting the bbox at the given zoom.
+     * A bbox with {@code minLng > maxLng} is treated as crossing the antimeridian.
+     */
+    public List<Cluster> query(int zoom, double minLat, double minLng, double maxLat, double maxLng) {
+        int z = Math.max(0, Math.min(zoom, maxZoom));
+        int bits = z + CELL_BITS;
+        int y0 = WebMercator.cell(WebMercator.y(maxLat), bits);
+        int y1 = WebMercator.cell(WebMercator.y(minLat), bits);
+
+        List<Cluster> result = new ArrayList<>();
+        if (minLng > maxLng) {
+            collect(z, WebMercator.cell(WebMercator.x(minLng), bits), (1 << bits) - 1, y0, y1, result);
+            collect(z, 0, WebMercator.cell(WebMercator.x(maxLng), bits), y0, y1, result);
+        } else {
+            collect(z, WebMercator.cell(WebMercator.x(minLng), bits),
+                    WebMercator.cell(WebMercator.x(maxLng), bits), y0, y1, result);
+        }
+        return result;
+    }
+
+    private void collect(int z, int x0, int x1, int y0, int y1, List<Cluster> out) {
+        Map<Long, Cell> level = levels.get(z);
+        long span = (long) (x1 - x0 + 1) * (y1 - y0 + 1);
+
+        // Walk whichever is smaller: the cells in the bbox or the non-empty cells of the level
+        if (span <= level.size()) {
+            for (int x = x0; x <= x1; x++) {
+                for (int y = y0; y <= y1; y++) {
+                    Cell cell = level.get(pack(x, y));
+                    if (cell != null) {
+                        cell.snapshot(x, y).ifPresent(out::add);
+                    }
+                }
+            }
+        } else {
+            level.forEach((key, cell) -> {
+                int x = (int) (key >>> 32);
+                int y = (int) (long) key;
+                if (x >= x0 && x <= x1 && y >= y0 && y <= y1) {
+                    cell.snapshot(x, y).ifPresent(out::add);
+                }
+            });
+        }
+    }
+
+    private static long key(double x, double y, int z) {
+        int bits = z + CELL_BITS;
+        return pack(WebMercator.cell(x, bits), WebMercator.cell(y, bits));
+    }
+
+    private static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    /** Aggregate marker for one grid cell. {@code dominantCategory} is null when no point has a category. */
+    public record Cluster(int cellX, int cellY, int count, double lat, double lng,
+            String dominantCategory, Map<String, Integer> categories) {
+    }
+
+    private static final class Cell {
+        private int count;
+        private double sumLat;
+        private double sumLng;
+        private final Map<String, Integer> categories = new HashMap<>(4);
+
+        synchronized void add(double lat, double lng, String category) {
+            count++;
+            sumLat += lat;
+            sumLng += lng;
+            if (category != null) {
+                categories.merge(category, 1, Integer::sum);
+            }
+        }
+
+        synchronized void recategorize(String from, String to) {
+            if (from != null) {
+                categories.computeIfPresent(from, (k, v) -> v > 1 ? v - 1 : null);
+            }
+            if (to != null) {
+                categories.merge(to, 1, Integer::sum);
+            }
+        }
+
+        synchronized Optional<Cluster> snapshot(int x, int y) {
+            if (count <= 0)
+                return Optional.empty();
+            String dominant = null;
+            int best = 0;
+            for (Map.Entry<String, Integer> e : categories.entrySet()) {
+                if (e.getValue() > best) {
+                    best = e.getValue();
+                    dominant = e.getKey();
+                }
+            }
+            return Optional.of(new Cluster(x, y, count, sumLat / count, sumLng / count,
+                    dominant, Map.copyOf(categories)));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.backend.ecoally.geo;
+
+/**
+ * Great-circle distance helpers for proximity checks on raw lat/lng columns.
+ */
+public final class GeoDistance {
+
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private static final double METERS_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_METERS / 180.0;
+
+    private GeoDistance() {
+    }
+
+    public static double haversineMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /** Half-height, in degrees of latitude, of a box enclosing a circle of {@code meters}. */
+    public static double latDelta(double meters) {
+        return meters / METERS_PER_DEGREE_LAT;
+    }
+
+    /** Half-width, in degrees of longitude, of a box enclosing a circle of {@code meters} at {@code lat}. */
+    public static double lngDelta(double meters, double lat) {
+        double cos = Math.cos(Math.toRadians(lat));
+        // Near the poles every longitude is within reach
+        if (cos < 1e-6)
+            return 180.0;
+        return Math.min(180.0, meters / (METERS_PER_DEGREE_LAT * cos));
+    }
+}
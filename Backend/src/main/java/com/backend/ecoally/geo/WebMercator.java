@@ -0,0 +1,47 @@
+package com.backend.ecoally.geo;
+
+/**
+ * Web Mercator (slippy map) helpers shared by the map clustering and tile code.
+ * Coordinates are projected to the unit square [0, 1) with y growing southwards,
+ * matching the z/x/y tile scheme used by Leaflet and friends.
+ */
+public final class WebMercator {
+
+    public static final double MAX_LAT = 85.05112878;
+
+    private WebMercator() {
+    }
+
+    public static double x(double lng) {
+        double x = (lng + 180.0) / 360.0;
+        return clampUnit(x);
+    }
+
+    public static double y(double lat) {
+        double clamped = Math.max(-MAX_LAT, Math.min(MAX_LAT, lat));
+        double rad = Math.toRadians(clamped);
+        double y = (1.0 - Math.log(Math.tan(rad) + 1.0 / Math.cos(rad)) / Math.PI) / 2.0;
+        return clampUnit(y);
+    }
+
+    /** Index of the cell containing the projected coordinate on a grid of {@code 2^bits} cells per axis. */
+    public static int cell(double unit, int bits) {
+        int cells = 1 << bits;
+        return Math.min(cells - 1, (int) (unit * cells));
+    }
+
+    public static double lng(double x) {
+        return x * 360.0 - 180.0;
+    }
+
+    public static double lat(double y) {
+        double n = Math.PI - 2.0 * Math.PI * y;
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+
+    private static double clampUnit(double v) {
+        if (v < 0.0)
+            return 0.0;
+        return Math.min(v, Math.nextDown(1.0));
+    }
+}
@@ -0,0 +1,109 @@
+package com.backend.ecoally.grading;
+
+import com.backend.ecoally.dto.response.QuizView;
+import com.backend.ecoally.model.Quiz;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled, immutable answer key for one quiz version.
+ * <p>
+ * Question ids and correct options live in parallel primitive arrays in display order,
+ * with the answer-map keys pre-stringified once, so grading is a single pass with no
+ * per-question parsing or boxing beyond the client's own map.
+ */
+public final class QuizAnswerKey implements Serializable {
+
+    private final long quizId;
+    private final LocalDateTime version;
+    private final boolean published;
+    private final Quiz.Difficulty difficulty;
+    private final long[] questionIds;
+    private final String[] answerKeys;
+    private final byte[] correctOptions;
+    // Teacher-view questions, for the per-question feedback in the submit response
+    private final List<QuizView.QuestionView> questions;
+
+    private QuizAnswerKey(Quiz quiz, List<QuizView.QuestionView> questions) {
+        this.quizId = quiz.getId();
+        this.version = quiz.getUpdatedAt();
+        this.published = quiz.isPublished();
+        this.difficulty = quiz.getDifficulty();
+        this.questions = questions;
+
+        int n = questions.size();
+        this.questionIds = new long[n];
+        this.answerKeys = new String[n];
+        this.correctOptions = new byte[n];
+        for (int i = 0; i < n; i++) {
+            QuizView.QuestionView q = questions.get(i);
+            questionIds[i] = q.getId();
+            answerKeys[i] = Long.toString(q.getId());
+            correctOptions[i] = (byte) q.getCorrectAnswer();
+        }
+    }
+
+    public static QuizAnswerKey compile(Quiz quiz) {
+        return new QuizAnswerKey(quiz, QuizView.forTeacher(quiz).getQuestions());
+    }
+
+    /** Per-question feedback; field names match the previous map-based response. */
+    public record QuestionResult(
+            @JsonProperty("_id") long id,
+            String text,
+            List<String> options,
+            int correctAnswer,
+            String explanation,
+            Integer userAnswer,
+            @JsonProperty("isCorrect") boolean correct) {
+    }
+
+    public record Grade(int correctAnswers, int totalQuestions, List<QuestionResult> questions) {
+
+        public int score() {
+            return totalQuestions > 0 ? Math.round((float) correctAnswers / totalQuestions * 100) : 0;
+        }
+    }
+
+    /** Grades the client's answers (question id as string → chosen option) in one pass. */
+    public Grade grade(Map<String, Integer> answers) {
+        int n = questionIds.length;
+        QuestionResult[] results = new QuestionResult[n];
+        int correct = 0;
+        for (int i = 0; i < n; i++) {
+            Integer given = answers != null ? answers.get(answerKeys[i]) : null;
+            boolean isCorrect = given != null && given == correctOptions[i];
+            if (isCorrect)
+                correct++;
+            QuizView.QuestionView q = questions.get(i);
+            results[i] = new QuestionResult(questionIds[i], q.getText(), q.getOptions(),
+                    correctOptions[i], q.getExplanation(), given, isCorrect);
+        }
+        return new Grade(correct, n, Arrays.asList(results));
+    }
+
+    public long getQuizId() {
+        return quizId;
+    }
+
+    public LocalDateTime getVersion() {
+        return version;
+    }
+
+    public boolean isPublished() {
+        return published;
+    }
+
+    public Quiz.Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public int size() {
+        return questionIds.length;
+    }
+}
@@ -1,6 +1,7 @@
 package com.backend.ecoally.kafka;
 
 import com.backend.ecoally.events.ChallengeSubmissionEvent;
+import com.backend.ecoally.events.SubmissionApprovedEvent;
 import com.backend.ecoally.model.ChallengeSubmission;
 import com.backend.ecoally.dto.response.MLAnalysisResult;
 import com.backend.ecoally.repository.ChallengeSubmissionRepository;
@@ -9,6 +10,7 @@ import com.backend.ecoally.service.PointsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
@@ -21,6 +23,7 @@ public class ChallengeSubmissionConsumer {
     private final EcoLensService ecoLensService;
     private final PointsService pointsService;
     private final ChallengeSubmissionRepository submissionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @KafkaListener(topics = "challenge-submissions", groupId = "ecoally-backend")
     public void processSubmission(ChallengeSubmissionEvent event) {
@@ -88,6 +91,16 @@ public class ChallengeSubmissionConsumer {
                     event.getSubmissionId(), e.getMessage(), e);
         }
 
-        submissionRepository.save(submission);
+        ChallengeSubmission saved = submissionRepository.save(submission);
+
+        if (saved.getStatus() == ChallengeSubmission.SubmissionStatus.APPROVED) {
+            eventPublisher.publishEvent(new SubmissionApprovedEvent(
+                    saved.getId(),
+                    saved.getStudentId(),
+                    saved.getGeoLat(),
+                    saved.getGeoLng(),
+                    saved.getDetectedSpecies(),
+                    saved.getIsNativeSpecies()));
+        }
     }
 }
@@ -14,7 +14,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "awake_reports")
+@Table(name = "awake_reports", indexes = {
+        @Index(name = "idx_awake_reports_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_awake_reports_created", columnList = "created_at"),
+        @Index(name = "idx_awake_reports_updated", columnList = "updated_at"),
+        @Index(name = "idx_awake_reports_lat_lng", columnList = "lat, lng")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class AwakeReport {
 
@@ -27,7 +32,10 @@ public class AwakeReport {
     private String reporterName;
 
     // GPS coordinates captured from the browser
+    @Column(name = "lat")
     private Double lat;
+
+    @Column(name = "lng")
     private Double lng;
 
     @Column(columnDefinition = "TEXT")
@@ -45,16 +53,21 @@ public class AwakeReport {
     @Column(nullable = false)
     private ReportStatus status = ReportStatus.OPEN;
 
+    // Repeat sightings merged into this report instead of being filed separately
+    private Integer corroborationCount = 0;
+    private LocalDateTime lastCorroboratedAt;
+
     // Set when someone uploads the after-photo
     private LocalDateTime resolvedAt;
     private Long resolvedByUserId;
     private String resolvedByName;
 
     @CreatedDate
-    @Column(updatable = false)
+    @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
     @LastModifiedDate
+    @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
     public enum ReportStatus {
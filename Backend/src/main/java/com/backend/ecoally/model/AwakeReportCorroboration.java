@@ -0,0 +1,35 @@
+package com.backend.ecoally.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Who confirmed which AwakeMap report; at most one row per user and report, so repeat
+ * submissions can't inflate {@code corroborationCount}. See AwakeReportDedupService.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "awake_report_corroborations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_awake_report_corroborations",
+                columnNames = { "report_id", "user_id" }))
+public class AwakeReportCorroboration {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "report_id", nullable = false)
+    private Long reportId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
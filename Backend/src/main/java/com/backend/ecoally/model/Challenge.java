@@ -8,6 +8,7 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -17,7 +18,7 @@ import java.util.List;
 @Entity
 @Table(name = "challenges")
 @EntityListeners(AuditingEntityListener.class)
-public class Challenge {
+public class Challenge implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -78,7 +79,7 @@ public class Challenge {
     @NoArgsConstructor
     @AllArgsConstructor
     @Embeddable
-    public static class GameConfig {
+    public static class GameConfig implements Serializable {
         private String gameType;
         private Integer timeLimit;
         private Integer minScore;
@@ -0,0 +1,25 @@
+package com.backend.ecoally.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exact set of distinct species seen on approved EcoMap pins.
+ * The primary key makes "first sighting" detection a single conflict-ignoring insert.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "ecomap_species")
+public class EcoMapSpecies {
+
+    @Id
+    private String species;
+
+    private LocalDateTime firstSeenAt;
+}
@@ -0,0 +1,37 @@
+package com.backend.ecoally.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single-row running totals behind GET /api/ecomap/stats.
+ * Incremented on every APPROVED geo-tagged submission; see EcoMapStatsService.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "ecomap_stats")
+public class EcoMapStats {
+
+    public static final long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id = SINGLETON_ID;
+
+    private long totalPins;
+    private long nativeSpeciesCount;
+    private long uniqueSpeciesCount;
+
+    // False until the totals have been recounted from existing submissions once
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean backfilled;
+
+    private LocalDateTime updatedAt;
+}
@@ -41,6 +41,10 @@ public class Quest {
     private String color;
     private boolean isActive = true;
 
+    // Stable handle for quests created by DataSeeder; migrations match on this, never on display text
+    @Column(unique = true)
+    private String seedKey;
+
     @CreatedDate
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -53,6 +57,6 @@ public class Quest {
     }
 
     public enum QuestAction {
-        COMPLETE_QUIZ, COMPLETE_CHALLENGE, MAINTAIN_STREAK
+        COMPLETE_QUIZ, COMPLETE_CHALLENGE, MAINTAIN_STREAK, PERFECT_SCORE
     }
 }
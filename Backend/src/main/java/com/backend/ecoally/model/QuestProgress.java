@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Entity
 @Table(name = "quest_progresses", uniqueConstraints = @UniqueConstraint(name = "uq_student_quest_period", columnNames = {
-        "student_id", "quest_id", "period_start" }))
+        "student_id", "quest_id", "period_start" }), indexes = {
+                @Index(name = "idx_quest_progresses_student_period", columnList = "student_id, period_start"),
+                @Index(name = "idx_quest_progresses_period_end", columnList = "period_end") })
 @EntityListeners(AuditingEntityListener.class)
 public class QuestProgress {
 
@@ -36,6 +38,7 @@ public class QuestProgress {
     @Column(name = "period_start")
     private LocalDateTime periodStart;
 
+    @Column(name = "period_end")
     private LocalDateTime periodEnd;
 
     @CreatedDate
@@ -0,0 +1,34 @@
+package com.backend.ecoally.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lifetime quest totals per student, compacted from expired {@code quest_progresses} rows
+ * by QuestRolloverJob so the live table only holds the current periods.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "quest_progress_summaries")
+public class QuestProgressSummary {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    private long dailyCompleted;
+    private long weeklyCompleted;
+    private long questsCompleted;
+    private long totalProgress;
+    // Expired progress rows folded into this summary
+    private long periodsArchived;
+    private LocalDateTime lastPeriodEnd;
+
+    private LocalDateTime updatedAt;
+}
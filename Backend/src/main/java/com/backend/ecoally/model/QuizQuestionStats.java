@@ -0,0 +1,43 @@
+package com.backend.ecoally.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running per-question answer counts behind GET /api/teacher/quizzes/{id}/item-stats.
+ * Upserted on every graded submission; see QuizItemStatsService.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "quiz_question_stats", indexes = @Index(name = "idx_quiz_question_stats_quiz", columnList = "quiz_id"))
+public class QuizQuestionStats {
+
+    @Id
+    @Column(name = "question_id")
+    private Long questionId;
+
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+
+    private long attempts;
+    private long correctCount;
+    // Explicit: the naming strategy puts no underscore after a digit
+    @Column(name = "option0_count")
+    private long option0Count;
+    @Column(name = "option1_count")
+    private long option1Count;
+    @Column(name = "option2_count")
+    private long option2Count;
+    @Column(name = "option3_count")
+    private long option3Count;
+    // Unanswered or out-of-range answers
+    private long skippedCount;
+
+    private LocalDateTime updatedAt;
+}
@@ -4,19 +4,22 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
 @Table(name = "students")
+// Write only changed columns, so concurrent writers of different fields don't clobber each other
+@DynamicUpdate
 @EntityListeners(AuditingEntityListener.class)
 public class Student {
 
@@ -50,14 +53,15 @@ public class Student {
     private int longestStreak = 0;
     private int streakShields = 0;
     private LocalDateTime lastActiveDate;
+    // Last day counted toward currentStreak (active or shielded); see StreakService
+    private LocalDate lastStreakDate;
     private int level = 1;
     private String tier = "sprout";
 
-    // ownedItems stored as a separate collection table
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "student_owned_items", joinColumns = @JoinColumn(name = "student_id"))
-    @Column(name = "item_id")
-    private List<String> ownedItems = new ArrayList<>();
+    // Bit i set = owns StoreCatalog item with ordinal i; see StoreService
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long ownedItemsMask = 0;
 
     @CreatedDate
     @Column(updatable = false)
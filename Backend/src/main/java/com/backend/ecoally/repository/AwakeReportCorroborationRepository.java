@@ -0,0 +1,19 @@
+package com.backend.ecoally.repository;
+
+import com.backend.ecoally.model.AwakeReportCorroboration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface AwakeReportCorroborationRepository extends JpaRepository<AwakeReportCorroboration, Long> {
+
+    // 1 if this user's corroboration was recorded, 0 if they had already corroborated the report
+    @Modifying
+    @Query(value = "INSERT INTO awake_report_corroborations (report_id, user_id, created_at) "
+            + "VALUES (:reportId, :userId, :now) ON CONFLICT (report_id, user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("reportId") Long reportId, @Param("userId") Long userId,
+            @Param("now") LocalDateTime now);
+}
@@ -1,15 +1,69 @@
 package com.backend.ecoally.repository;
 
 import com.backend.ecoally.model.AwakeReport;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface AwakeReportRepository extends JpaRepository<AwakeReport, Long> {
 
-    // All reports ordered newest first
-    List<AwakeReport> findAllByOrderByCreatedAtDesc();
+    // Keyset page, newest first: rows strictly after the (createdAt, id) cursor inside the bbox.
+    // With anywhere = true the bbox is skipped, so reports without coordinates are included.
+    @Query("SELECT r FROM AwakeReport r WHERE r.status IN :statuses "
+            + "AND (:anywhere = true OR (r.lat BETWEEN :minLat AND :maxLat AND r.lng BETWEEN :minLng AND :maxLng)) "
+            + "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) "
+            + "ORDER BY r.createdAt DESC, r.id DESC")
+    List<AwakeReport> findFeedPage(
+            @Param("statuses") Collection<AwakeReport.ReportStatus> statuses,
+            @Param("anywhere") boolean anywhere,
+            @Param("minLat") double minLat, @Param("maxLat") double maxLat,
+            @Param("minLng") double minLng, @Param("maxLng") double maxLng,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") long id,
+            Pageable pageable);
 
-    // Filter by status
-    List<AwakeReport> findByStatusOrderByCreatedAtDesc(AwakeReport.ReportStatus status);
+    // Delta sync, oldest change first: rows modified after the (updatedAt, id) cursor inside the bbox
+    @Query("SELECT r FROM AwakeReport r WHERE r.status IN :statuses "
+            + "AND (:anywhere = true OR (r.lat BETWEEN :minLat AND :maxLat AND r.lng BETWEEN :minLng AND :maxLng)) "
+            + "AND (r.updatedAt > :updatedAt OR (r.updatedAt = :updatedAt AND r.id > :id)) "
+            + "ORDER BY r.updatedAt ASC, r.id ASC")
+    List<AwakeReport> findChangesSince(
+            @Param("statuses") Collection<AwakeReport.ReportStatus> statuses,
+            @Param("anywhere") boolean anywhere,
+            @Param("minLat") double minLat, @Param("maxLat") double maxLat,
+            @Param("minLng") double minLng, @Param("maxLng") double maxLng,
+            @Param("updatedAt") LocalDateTime updatedAt, @Param("id") long id,
+            Pageable pageable);
+
+    // Proximity probe — a bbox range on the (lat, lng) index, refined by distance in Java
+    List<AwakeReport> findByStatusAndLatBetweenAndLngBetween(
+            AwakeReport.ReportStatus status, Double minLat, Double maxLat, Double minLng, Double maxLng);
+
+    // Atomic in-place increment; bumps updatedAt so delta-syncing clients see the change.
+    // Clears the persistence context so a following findById reads the new count.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AwakeReport r SET r.corroborationCount = COALESCE(r.corroborationCount, 0) + 1, "
+            + "r.lastCorroboratedAt = :now, r.updatedAt = :now WHERE r.id = :id")
+    int incrementCorroborations(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Closed projection — id, coordinates and status only, for building map aggregates
+    List<GeoReportView> findGeoByLatIsNotNullAndLngIsNotNull();
+
+    List<GeoReportView> findGeoByStatusAndLatBetweenAndLngBetween(
+            AwakeReport.ReportStatus status, Double minLat, Double maxLat, Double minLng, Double maxLng);
+
+    interface GeoReportView {
+        Long getId();
+
+        Double getLat();
+
+        Double getLng();
+
+        AwakeReport.ReportStatus getStatus();
+    }
 }
@@ -30,4 +30,29 @@ public interface ChallengeSubmissionRepository extends JpaRepository<ChallengeSu
     // Type-safe derived method — replaces fragile @Query string literal
     List<ChallengeSubmission> findByStatusAndGeoLatIsNotNullAndGeoLngIsNotNullOrderByCreatedAtDesc(
             ChallengeSubmission.SubmissionStatus status, Pageable pageable);
+
+    // Closed projection — selects only the map columns, skipping the EAGER mediaUrls join
+    List<GeoPinView> findGeoPinsByStatusAndGeoLatIsNotNullAndGeoLngIsNotNull(
+            ChallengeSubmission.SubmissionStatus status);
+
+    List<GeoPinView> findGeoPinsByStatusAndGeoLatBetweenAndGeoLngBetween(
+            ChallengeSubmission.SubmissionStatus status,
+            Double minLat, Double maxLat, Double minLng, Double maxLng);
+
+    long countByStatusAndGeoLatIsNotNullAndGeoLngIsNotNull(ChallengeSubmission.SubmissionStatus status);
+
+    long countByStatusAndGeoLatIsNotNullAndGeoLngIsNotNullAndIsNativeSpeciesTrue(
+            ChallengeSubmission.SubmissionStatus status);
+
+    interface GeoPinView {
+        Long getId();
+
+        Double getGeoLat();
+
+        Double getGeoLng();
+
+        String getDetectedSpecies();
+
+        Boolean getIsNativeSpecies();
+    }
 }
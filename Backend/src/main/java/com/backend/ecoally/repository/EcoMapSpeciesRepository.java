@@ -0,0 +1,19 @@
+package com.backend.ecoally.repository;
+
+import com.backend.ecoally.model.EcoMapSpecies;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface EcoMapSpeciesRepository extends JpaRepository<EcoMapSpecies, String> {
+
+    // One-off backfill from existing approved pins
+    @Modifying
+    @Query(value = "INSERT INTO ecomap_species (species, first_seen_at) "
+            + "SELECT DISTINCT detected_species, now() FROM challenge_submissions "
+            + "WHERE status = 'APPROVED' AND geo_lat IS NOT NULL AND geo_lng IS NOT NULL "
+            + "AND detected_species IS NOT NULL "
+            + "ON CONFLICT (species) DO NOTHING", nativeQuery = true)
+    int backfillFromApprovedSubmissions();
+}
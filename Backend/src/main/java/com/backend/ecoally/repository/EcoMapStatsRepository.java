@@ -0,0 +1,42 @@
+package com.backend.ecoally.repository;
+
+import com.backend.ecoally.model.EcoMapStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface EcoMapStatsRepository extends JpaRepository<EcoMapStats, Long> {
+
+    // One atomic statement per pin: records the species (if new) and bumps every counter in place,
+    // so concurrent approvals never read-modify-write and a failure leaves both tables untouched.
+    // An upsert, so a pin recorded while the backfill holds the row waits for it instead of being lost
+    @Transactional
+    @Modifying
+    @Query(value = "WITH new_species AS ("
+            + "INSERT INTO ecomap_species (species, first_seen_at) "
+            + "SELECT CAST(:species AS varchar), now() WHERE CAST(:species AS varchar) IS NOT NULL "
+            + "ON CONFLICT (species) DO NOTHING RETURNING 1) "
+            + "INSERT INTO ecomap_stats AS s (id, total_pins, native_species_count, unique_species_count, "
+            + "backfilled, updated_at) "
+            + "VALUES (1, 1, :nativeInc, (SELECT count(*) FROM new_species), false, now()) "
+            + "ON CONFLICT (id) DO UPDATE SET total_pins = s.total_pins + 1, "
+            + "native_species_count = s.native_species_count + EXCLUDED.native_species_count, "
+            + "unique_species_count = s.unique_species_count + EXCLUDED.unique_species_count, "
+            + "updated_at = now()", nativeQuery = true)
+    int recordPin(@Param("species") String species, @Param("nativeInc") int nativeInc);
+
+    @Modifying
+    @Query(value = "INSERT INTO ecomap_stats (id, total_pins, native_species_count, unique_species_count, "
+            + "backfilled, updated_at) VALUES (1, 0, 0, 0, false, now()) "
+            + "ON CONFLICT (id) DO NOTHING", nativeQuery = true)
+    int createIfAbsent();
+
+    // SELECT ... FOR UPDATE: concurrent recordPin upserts and other instances' backfills queue behind it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM EcoMapStats s WHERE s.id = :id")
+    EcoMapStats lockById(@Param("id") Long id);
+}
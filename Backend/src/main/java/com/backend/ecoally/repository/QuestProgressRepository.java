@@ -3,6 +3,7 @@ package com.backend.ecoally.repository;
 import com.backend.ecoally.model.QuestProgress;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +16,8 @@ public interface QuestProgressRepository extends JpaRepository<QuestProgress, Lo
         Optional<QuestProgress> findByStudentIdAndQuestIdAndPeriodStartAndPeriodEnd(
                         Long studentId, Long questId, LocalDateTime periodStart, LocalDateTime periodEnd);
 
+        List<QuestProgress> findByStudentIdAndPeriodStartIn(Long studentId, Collection<LocalDateTime> periodStarts);
+
         List<QuestProgress> findByStudentIdAndPeriodStartLessThanEqualAndPeriodEndGreaterThanEqual(
                         Long studentId, LocalDateTime date1, LocalDateTime date2);
 }
@@ -2,6 +2,11 @@ package com.backend.ecoally.repository;
 
 import com.backend.ecoally.model.Quest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.List;
 
 public interface QuestRepository extends JpaRepository<Quest, Long> {
@@ -10,4 +15,30 @@ public interface QuestRepository extends JpaRepository<Quest, Long> {
     List<Quest> findByType(Quest.QuestType type);
 
     List<Quest> findByIsActiveTrueAndType(Quest.QuestType type);
+
+    // Hibernate created a CHECK over the enum values the table started with; only tables from
+    // before PERFECT_SCORE existed still carry one that rejects it
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'quests_action_check' "
+            + "AND pg_get_constraintdef(oid) NOT LIKE '%PERFECT_SCORE%')", nativeQuery = true)
+    boolean hasLegacyActionCheck();
+
+    @Transactional
+    @Modifying
+    @Query(value = "ALTER TABLE quests DROP CONSTRAINT IF EXISTS quests_action_check", nativeQuery = true)
+    void dropActionCheck();
+
+    boolean existsBySeedKeyIsNotNull();
+
+    // Legacy rows predate seed keys; identify them once by the full seeded shape
+    @Transactional
+    @Modifying
+    @Query("UPDATE Quest q SET q.seedKey = :seedKey "
+            + "WHERE q.seedKey IS NULL AND q.title = :title AND q.type = :type AND q.target = :target")
+    int assignSeedKey(@Param("seedKey") String seedKey, @Param("title") String title,
+                      @Param("type") Quest.QuestType type, @Param("target") int target);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Quest q SET q.action = :action WHERE q.seedKey = :seedKey AND q.action <> :action")
+    int retagSeededQuest(@Param("seedKey") String seedKey, @Param("action") Quest.QuestAction action);
 }
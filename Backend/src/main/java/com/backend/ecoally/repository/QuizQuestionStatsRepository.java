@@ -0,0 +1,20 @@
+package com.backend.ecoally.repository;
+
+import com.backend.ecoally.model.QuizQuestionStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface QuizQuestionStatsRepository extends JpaRepository<QuizQuestionStats, Long> {
+
+    List<QuizQuestionStats> findByQuizId(Long quizId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM QuizQuestionStats s WHERE s.quizId = :quizId")
+    int deleteByQuizId(@Param("quizId") Long quizId);
+}
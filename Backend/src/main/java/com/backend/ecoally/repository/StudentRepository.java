@@ -2,6 +2,8 @@ package com.backend.ecoally.repository;
 
 import com.backend.ecoally.model.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -9,6 +11,13 @@ import java.util.Optional;
 public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByUserId(Long userId);
 
+    // Resolves the id without loading the student
+    @Query("SELECT s.id FROM Student s WHERE s.userId = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT s.ownedItemsMask FROM Student s WHERE s.userId = :userId")
+    Optional<Long> findOwnedItemsMaskByUserId(@Param("userId") Long userId);
+
     boolean existsByUserId(Long userId);
 
     List<Student> findAllByOrderByPointsDesc();
@@ -2,6 +2,12 @@ package com.backend.ecoally.repository;
 
 import com.backend.ecoally.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -16,4 +22,27 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     boolean existsByPhone(String phone);
+
+    // Login lookup in one round trip — each branch is served by its unique index.
+    // May return up to three different users; the caller applies email > phone > username.
+    @Query("SELECT u FROM User u WHERE u.email = :identifier OR u.phone = :identifier OR u.username = :identifier")
+    List<User> findAllByIdentifier(@Param("identifier") String identifier);
+
+    // Closed projection for building the known-identifier filter
+    List<IdentifierView> findIdentifiersBy();
+
+    // Compare-and-set so a rehash never overwrites a password changed in the meantime
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int replacePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash,
+            @Param("newHash") String newHash);
+
+    interface IdentifierView {
+        String getEmail();
+
+        String getPhone();
+
+        String getUsername();
+    }
 }
@@ -1,6 +1,5 @@
 package com.backend.ecoally.security;
 
-import com.backend.ecoally.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,7 +21,7 @@ import java.util.List;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -30,17 +29,19 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             FilterChain filterChain) throws ServletException, IOException {
         String token = parseJwt(request);
 
-        if (token != null && jwtUtils.validateToken(token)) {
-            String userId = jwtUtils.getUserIdFromToken(token);
-
-            userRepository.findById(Long.parseLong(userId)).ifPresent(user -> {
-                if (user.isActive()) {
-                    var authority = new SimpleGrantedAuthority("ROLE_" + user.getUserType().name());
-                    var auth = new UsernamePasswordAuthenticationToken(
-                            user, null, List.of(authority));
-                    auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(auth);
-                }
+        if (token != null) {
+            jwtUtils.parseToken(token).ifPresent(claims -> {
+                long userId = Long.parseLong(claims.getSubject());
+
+                principalCache.get(userId).ifPresent(user -> {
+                    if (user.isActive()) {
+                        var authority = new SimpleGrantedAuthority("ROLE_" + user.getUserType().name());
+                        var auth = new UsernamePasswordAuthenticationToken(
+                                user, null, List.of(authority));
+                        auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        SecurityContextHolder.getContext().setAuthentication(auth);
+                    }
+                });
             });
         }
 
@@ -0,0 +1,84 @@
+package com.backend.ecoally.security;
+
+import com.backend.ecoally.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Bloom filter of every email, phone and username in {@code users}, used to skip the
+ * registration uniqueness probes for identifiers that are almost certainly free.
+ * <p>
+ * Until the first build completes (or with {@code auth.identifier-filter.enabled=false})
+ * everything is reported as possibly known, so callers fall through to the database.
+ * The filter only learns about users registered on this node, so a miss is not proof of
+ * absence: use it only where a false "unknown" is caught later, as registration's unique
+ * constraints do. Login must never rely on it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KnownIdentifierFilter {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final UserRepository userRepository;
+
+    @Value("${auth.identifier-filter.enabled:true}")
+    private boolean enabled;
+
+    private volatile BloomFilter current;
+    // Filter being rebuilt — registrations during a rebuild go into both
+    private volatile BloomFilter building;
+
+    public boolean mightContain(String identifier) {
+        BloomFilter filter = current;
+        return filter == null || identifier == null || filter.mightContain(identifier);
+    }
+
+    public void add(String identifier) {
+        if (identifier == null)
+            return;
+        // Read building before current: rebuild() publishes current before clearing
+        // building, so one of the two always reaches the filter that survives the swap
+        BloomFilter next = building;
+        if (next != null)
+            next.put(identifier);
+        BloomFilter filter = current;
+        if (filter != null)
+            filter.put(identifier);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${auth.identifier-filter.rebuild-interval-ms:21600000}",
+            fixedDelayString = "${auth.identifier-filter.rebuild-interval-ms:21600000}")
+    public synchronized void rebuild() {
+        if (!enabled)
+            return;
+
+        // Sized with headroom so new registrations don't degrade it before the next rebuild
+        BloomFilter next = new BloomFilter(Math.max(1024, userRepository.count() * 3 * 2), FALSE_POSITIVE_RATE);
+        building = next;
+        try {
+            List<UserRepository.IdentifierView> users = userRepository.findIdentifiersBy();
+            for (UserRepository.IdentifierView u : users) {
+                if (u.getEmail() != null)
+                    next.put(u.getEmail());
+                if (u.getPhone() != null)
+                    next.put(u.getPhone());
+                if (u.getUsername() != null)
+                    next.put(u.getUsername());
+            }
+            current = next;
+            log.info("[Auth] Identifier filter built for {} users", users.size());
+        } finally {
+            building = null;
+        }
+    }
+}
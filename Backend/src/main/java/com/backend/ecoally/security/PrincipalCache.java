@@ -0,0 +1,57 @@
+package com.backend.ecoally.security;
+
+import com.backend.ecoally.model.User;
+import com.backend.ecoally.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals keyed by user id, so
+ * {@link JwtAuthFilter} does not hit the database on every request.
+ * <p>
+ * Entries can be up to the TTL old and never carry the password hash, so the principal is
+ * read-only: never save it. Endpoints that change a user reload the row first, and must
+ * call {@link #evict(Long)} after saving. Callers still get their own copy, so nothing
+ * can leak into the shared entry.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, User> cache;
+
+    public PrincipalCache(UserRepository userRepository,
+            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public Optional<User> get(Long userId) {
+        User cached = cache.get(userId, id -> userRepository.findById(id)
+                .map(user -> {
+                    user.setPassword(null);
+                    return user;
+                })
+                .orElse(null));
+        if (cached == null)
+            return Optional.empty();
+        User copy = new User();
+        BeanUtils.copyProperties(cached, copy);
+        return Optional.of(copy);
+    }
+
+    public void evict(Long userId) {
+        if (userId != null)
+            cache.invalidate(userId);
+    }
+}
@@ -0,0 +1,85 @@
+package com.backend.ecoally.security;
+
+import com.backend.ecoally.config.RateLimitProperties;
+import com.backend.ecoally.dto.response.ApiResponse;
+import com.backend.ecoally.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies the {@link RateLimitProperties} rules. Runs right after {@link JwtAuthFilter}
+ * so authenticated requests are limited per user as well as per client IP.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        if (properties.isEnabled()) {
+            String path = request.getRequestURI();
+            for (int i = 0; i < properties.getRules().size(); i++) {
+                RateLimitProperties.Rule rule = properties.getRules().get(i);
+                if (!rule.getMethod().equalsIgnoreCase(request.getMethod())
+                        || !PATH_MATCHER.match(rule.getPath(), path))
+                    continue;
+
+                long waitMs = check(i, rule, request);
+                if (waitMs > 0) {
+                    reject(response, waitMs);
+                    return;
+                }
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private long check(int ruleIndex, RateLimitProperties.Rule rule, HttpServletRequest request) {
+        long waitMs = 0;
+        Long userId = currentUserId();
+        if (rule.getPerUser() != null && userId != null) {
+            waitMs = rateLimiter.tryAcquire(ruleIndex + ":u:" + userId, rule.getPerUser());
+        }
+        if (waitMs == 0 && rule.getPerIp() != null) {
+            waitMs = rateLimiter.tryAcquire(ruleIndex + ":ip:" + request.getRemoteAddr(), rule.getPerIp());
+        }
+        return waitMs;
+    }
+
+    private static Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof User user ? user.getId() : null;
+    }
+
+    private void reject(HttpServletResponse response, long waitMs) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitMs + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("Too many requests. Please try again in " + retryAfterSeconds + " seconds."));
+    }
+}
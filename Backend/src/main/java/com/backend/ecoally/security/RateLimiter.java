@@ -0,0 +1,85 @@
+package com.backend.ecoally.security;
+
+import com.backend.ecoally.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets keyed by rule + user or IP.
+ * <p>
+ * The local store keeps buckets in a bounded Caffeine map (striped, non-blocking reads)
+ * and idle buckets expire once they would have refilled anyway. With
+ * {@code rate-limit.store=redis} the same algorithm runs as a Lua script so every node
+ * draws from one bucket; if Redis is unreachable we fall back to the local bucket.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    // KEYS[1] bucket; ARGV capacity, tokens per ms. Uses the Redis clock so nodes agree on time.
+    private static final DefaultRedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local t = redis.call('TIME')
+            local now = t[1] * 1000 + math.floor(t[2] / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+            local wait = 0
+            if tokens < 1 then
+              wait = math.ceil((1 - tokens) / rate)
+            else
+              tokens = tokens - 1
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tokens, 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate) + 1000)
+            return wait
+            """, Long.class);
+
+    private final RateLimitProperties properties;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimiter(RateLimitProperties properties, ObjectProvider<StringRedisTemplate> redisTemplate) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    /** Returns 0 if the request may proceed, otherwise milliseconds until it may retry. */
+    public long tryAcquire(String key, RateLimitProperties.Limit limit) {
+        if ("redis".equalsIgnoreCase(properties.getStore())) {
+            StringRedisTemplate redis = redisTemplate.getIfAvailable();
+            if (redis != null) {
+                try {
+                    Long wait = redis.execute(TOKEN_BUCKET_SCRIPT, List.of("ratelimit:" + key),
+                            String.valueOf(limit.getCapacity()),
+                            String.valueOf(limit.getRefillPerMinute() / 60_000.0));
+                    return wait != null ? wait : 0;
+                } catch (RuntimeException e) {
+                    log.warn("[RateLimit] Redis unavailable, using local bucket: {}", e.getMessage());
+                }
+            }
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key,
+                k -> new TokenBucket(limit.getCapacity(), limit.getRefillPerMinute(), now));
+        long waitNanos = bucket.tryConsume(now);
+        // Round up so a sub-millisecond wait is still reported as a rejection
+        return waitNanos == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(waitNanos) + 1;
+    }
+}
@@ -0,0 +1,38 @@
+package com.backend.ecoally.security;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket: state is swapped with a CAS, so concurrent requests for the
+ * same key never block each other.
+ */
+final class TokenBucket {
+
+    private record State(double tokens, long refilledAtNanos) {
+    }
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(int capacity, int refillPerMinute, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / 60_000_000_000.0;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /** Takes one token; returns 0 on success, otherwise nanoseconds until one is available. */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double tokens = Math.min(capacity,
+                    current.tokens() + Math.max(0, nowNanos - current.refilledAtNanos()) * tokensPerNano);
+            if (tokens < 1.0) {
+                return tokensPerNano > 0 ? (long) Math.ceil((1.0 - tokens) / tokensPerNano) : Long.MAX_VALUE;
+            }
+            if (state.compareAndSet(current, new State(tokens - 1.0, Math.max(nowNanos, current.refilledAtNanos())))) {
+                return 0;
+            }
+        }
+    }
+}
@@ -6,11 +6,13 @@ import com.backend.ecoally.exception.AppException;
 import com.backend.ecoally.model.*;
 import com.backend.ecoally.repository.*;
 import com.backend.ecoally.security.JwtUtils;
+import com.backend.ecoally.security.KnownIdentifierFilter;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -21,8 +23,9 @@ public class AuthService {
     private final StudentRepository studentRepository;
     private final TeacherRepository teacherRepository;
     private final AdminRepository adminRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtils jwtUtils;
+    private final KnownIdentifierFilter knownIdentifierFilter;
 
     public Map<String, Object> register(RegisterRequest req) {
         // Validate at least email or phone
@@ -30,14 +33,17 @@ public class AuthService {
             throw AppException.badRequest("Either email or phone must be provided");
         }
 
-        // Check uniqueness
-        if (req.getEmail() != null && userRepository.existsByEmail(req.getEmail())) {
+        // Check uniqueness — identifiers the filter has never seen skip the database
+        if (req.getEmail() != null && knownIdentifierFilter.mightContain(req.getEmail())
+                && userRepository.existsByEmail(req.getEmail())) {
             throw AppException.conflict("Email already registered");
         }
-        if (req.getPhone() != null && userRepository.existsByPhone(req.getPhone())) {
+        if (req.getPhone() != null && knownIdentifierFilter.mightContain(req.getPhone())
+                && userRepository.existsByPhone(req.getPhone())) {
             throw AppException.conflict("Phone number already registered");
         }
-        if (userRepository.existsByUsername(req.getUsername())) {
+        if (knownIdentifierFilter.mightContain(req.getUsername())
+                && userRepository.existsByUsername(req.getUsername())) {
             throw AppException.conflict("Username already taken");
         }
 
@@ -46,7 +52,7 @@ public class AuthService {
         user.setEmail(req.getEmail());
         user.setPhone(req.getPhone());
         user.setUsername(req.getUsername());
-        user.setPassword(passwordEncoder.encode(req.getPassword()));
+        user.setPassword(passwordHashingService.encode(req.getPassword()));
         user.setUserType(req.getUserType());
         user.setFirstName(req.getFirstName());
         user.setLastName(req.getLastName());
@@ -55,7 +61,15 @@ public class AuthService {
         user.setAddress(req.getAddress());
         user.setActive(true);
 
-        user = userRepository.save(user);
+        try {
+            user = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Registered concurrently (or on another node) after the checks above
+            throw AppException.conflict("Email, phone or username already registered");
+        }
+        knownIdentifierFilter.add(user.getEmail());
+        knownIdentifierFilter.add(user.getPhone());
+        knownIdentifierFilter.add(user.getUsername());
 
         // Create role-specific record
         Object roleRecord = createRoleRecord(user, req);
@@ -77,9 +91,10 @@ public class AuthService {
             throw AppException.forbidden("Account is inactive. Please contact support.");
         }
 
-        if (!passwordEncoder.matches(req.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(req.getPassword(), user.getPassword())) {
             throw AppException.unauthorized("Invalid credentials");
         }
+        passwordHashingService.upgradeIfNeeded(user.getId(), req.getPassword(), user.getPassword());
 
         Object roleRecord = getRoleRecord(user);
         String token = jwtUtils.generateToken(user.getId().toString(), user.getUserType().name());
@@ -103,10 +118,13 @@ public class AuthService {
         return result;
     }
 
+    // Always asks the database: the filter can miss users registered on another node
     private java.util.Optional<User> findByIdentifier(String identifier) {
-        return userRepository.findByEmail(identifier)
-                .or(() -> userRepository.findByPhone(identifier))
-                .or(() -> userRepository.findByUsername(identifier));
+        // One query; keep the old precedence when the value matches different users
+        List<User> matches = userRepository.findAllByIdentifier(identifier);
+        return matches.stream().filter(u -> identifier.equals(u.getEmail())).findFirst()
+                .or(() -> matches.stream().filter(u -> identifier.equals(u.getPhone())).findFirst())
+                .or(() -> matches.stream().filter(u -> identifier.equals(u.getUsername())).findFirst());
     }
 
     private Object createRoleRecord(User user, RegisterRequest req) {
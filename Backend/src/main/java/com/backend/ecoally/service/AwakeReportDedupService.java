@@ -0,0 +1,73 @@
+package com.backend.ecoally.service;
+
+import com.backend.ecoally.geo.GeoDistance;
+import com.backend.ecoally.model.AwakeReport;
+import com.backend.ecoally.repository.AwakeReportCorroborationRepository;
+import com.backend.ecoally.repository.AwakeReportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Optional;
+
+/**
+ * Near-duplicate detection for AwakeMap submissions.
+ * <p>
+ * A new report within {@code awakemap.duplicate-radius-meters} of an OPEN report is
+ * folded into it as a corroboration instead of being stored (and uploaded) again.
+ * The lookup is a small bbox range on the (lat, lng) index followed by an exact
+ * haversine check, so it never scans {@code awake_reports}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AwakeReportDedupService {
+
+    private final AwakeReportRepository awakeReportRepository;
+    private final AwakeReportCorroborationRepository corroborationRepository;
+
+    // 0 disables merging
+    @Value("${awakemap.duplicate-radius-meters:25}")
+    private double radiusMeters;
+
+    @Transactional(readOnly = true)
+    public Optional<AwakeReport> findNearbyOpen(double lat, double lng) {
+        if (radiusMeters <= 0)
+            return Optional.empty();
+
+        double dLat = GeoDistance.latDelta(radiusMeters);
+        double dLng = GeoDistance.lngDelta(radiusMeters, lat);
+
+        return awakeReportRepository.findByStatusAndLatBetweenAndLngBetween(
+                AwakeReport.ReportStatus.OPEN, lat - dLat, lat + dLat, lng - dLng, lng + dLng)
+                .stream()
+                .filter(r -> GeoDistance.haversineMeters(lat, lng, r.getLat(), r.getLng()) <= radiusMeters)
+                .min(Comparator.comparingDouble(r -> GeoDistance.haversineMeters(lat, lng, r.getLat(), r.getLng())));
+    }
+
+    /** Outcome of a corroboration; {@code counted} is false for the reporter or a repeat. */
+    public record Corroboration(AwakeReport report, boolean counted) {
+    }
+
+    /**
+     * Records another sighting on an existing report and returns its fresh state. Each user
+     * counts once per report, and the original reporter not at all.
+     */
+    @Transactional
+    public Corroboration corroborate(AwakeReport existing, Long userId) {
+        if (userId.equals(existing.getReporterId()))
+            return new Corroboration(existing, false);
+
+        LocalDateTime now = LocalDateTime.now();
+        if (corroborationRepository.insertIfAbsent(existing.getId(), userId, now) == 0)
+            return new Corroboration(existing, false);
+
+        awakeReportRepository.incrementCorroborations(existing.getId(), now);
+        log.info("[AwakeMap] Report {} corroborated by user {}", existing.getId(), userId);
+        return new Corroboration(awakeReportRepository.findById(existing.getId()).orElse(existing), true);
+    }
+}
@@ -0,0 +1,113 @@
+package com.backend.ecoally.service;
+
+import com.backend.ecoally.exception.AppException;
+import com.backend.ecoally.model.AwakeReport;
+import com.backend.ecoally.repository.AwakeReportRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Paged AwakeMap report feed.
+ * <p>
+ * Pages are keyset-based: the cursor is the {@code (timestamp, id)} of the last row
+ * returned, so every page is an index range scan no matter how deep the client scrolls.
+ * With {@code since}, the feed switches to delta mode and walks rows by
+ * {@code updatedAt} instead, letting map clients fetch only what changed after their last sync.
+ * Delta mode ignores the status filter so a client filtering on OPEN still sees its reports
+ * turn RESOLVED; clients drop rows that no longer match.
+ * <p>
+ * Without {@code cursor}, {@code limit} or {@code since} the whole feed is returned in one
+ * response, as before paging existed.
+ */
+@Service
+@RequiredArgsConstructor
+public class AwakeReportFeedService {
+
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final String CURSOR_SEPARATOR = "_";
+
+    private final AwakeReportRepository awakeReportRepository;
+
+    @Value("${awakemap.feed.default-limit:100}")
+    private int defaultLimit;
+
+    @Value("${awakemap.feed.max-limit:500}")
+    private int maxLimit;
+
+    public FeedPage getReports(AwakeReport.ReportStatus status, double minLat, double minLng,
+            double maxLat, double maxLng, String cursor, LocalDateTime since, Integer limit) {
+
+        if (minLat > maxLat || minLng > maxLng) {
+            throw AppException.badRequest("Invalid bounding box");
+        }
+
+        boolean paged = cursor != null || limit != null || since != null;
+        int size = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+        // Fetch one extra row to know whether another page exists
+        Pageable page = paged ? PageRequest.of(0, size + 1) : Pageable.unpaged();
+        // The default viewport is the whole world: skip the bbox so rows without coordinates stay
+        boolean anywhere = minLat <= -90 && maxLat >= 90 && minLng <= -180 && maxLng >= 180;
+
+        List<AwakeReport> rows;
+        if (since != null) {
+            Cursor after = cursor != null ? Cursor.parse(cursor) : new Cursor(since, 0L);
+            rows = awakeReportRepository.findChangesSince(EnumSet.allOf(AwakeReport.ReportStatus.class),
+                    anywhere, minLat, maxLat, minLng, maxLng, after.timestamp(), after.id(), page);
+        } else {
+            Collection<AwakeReport.ReportStatus> statuses = status == null
+                    ? EnumSet.allOf(AwakeReport.ReportStatus.class)
+                    : EnumSet.of(status);
+            Cursor before = cursor != null ? Cursor.parse(cursor) : new Cursor(END_OF_TIME, Long.MAX_VALUE);
+            rows = awakeReportRepository.findFeedPage(statuses, anywhere, minLat, maxLat, minLng, maxLng,
+                    before.timestamp(), before.id(), page);
+        }
+
+        boolean hasMore = paged && rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (!rows.isEmpty()) {
+            AwakeReport last = rows.get(rows.size() - 1);
+            LocalDateTime ts = since != null ? last.getUpdatedAt() : last.getCreatedAt();
+            // In delta mode the cursor doubles as the sync token for the next call
+            if (hasMore || since != null) {
+                nextCursor = new Cursor(ts, last.getId()).encode();
+            }
+        } else if (since != null && cursor != null) {
+            nextCursor = cursor;
+        }
+
+        return new FeedPage(rows, nextCursor, hasMore);
+    }
+
+    public record FeedPage(List<AwakeReport> reports, String nextCursor, boolean hasMore) {
+    }
+
+    private record Cursor(LocalDateTime timestamp, long id) {
+
+        String encode() {
+            return timestamp + CURSOR_SEPARATOR + id;
+        }
+
+        static Cursor parse(String value) {
+            int sep = value.lastIndexOf(CURSOR_SEPARATOR);
+            try {
+                return new Cursor(LocalDateTime.parse(value.substring(0, sep)),
+                        Long.parseLong(value.substring(sep + 1)));
+            } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+                throw AppException.badRequest("Invalid cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.backend.ecoally.service;
+
+import com.backend.ecoally.events.SubmissionApprovedEvent;
+import com.backend.ecoally.model.ChallengeSubmission;
+import com.backend.ecoally.model.EcoMapStats;
+import com.backend.ecoally.repository.ChallengeSubmissionRepository;
+import com.backend.ecoally.repository.EcoMapSpeciesRepository;
+import com.backend.ecoally.repository.EcoMapStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maintains the EcoMap header statistics incrementally.
+ * <p>
+ * Every APPROVED geo-tagged submission bumps the counters in {@code ecomap_stats};
+ * distinct species are tracked exactly in {@code ecomap_species}, whose primary key
+ * tells us in one statement whether a species is new. Reading the stats is then a
+ * single primary-key lookup regardless of how many pins exist.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EcoMapStatsService {
+
+    private final EcoMapStatsRepository statsRepository;
+    private final EcoMapSpeciesRepository speciesRepository;
+    private final ChallengeSubmissionRepository submissionRepository;
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStats() {
+        EcoMapStats stats = statsRepository.findById(EcoMapStats.SINGLETON_ID).orElseGet(EcoMapStats::new);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("totalPins", stats.getTotalPins());
+        result.put("nativeSpeciesCount", stats.getNativeSpeciesCount());
+        result.put("uniqueSpeciesCount", stats.getUniqueSpeciesCount());
+        return result;
+    }
+
+    // After commit and off the request thread: a stats failure must never roll back or slow an approval
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSubmissionApproved(SubmissionApprovedEvent event) {
+        if (event.getGeoLat() == null || event.getGeoLng() == null)
+            return;
+
+        try {
+            int nativeInc = Boolean.TRUE.equals(event.getIsNativeSpecies()) ? 1 : 0;
+            statsRepository.recordPin(event.getDetectedSpecies(), nativeInc);
+        } catch (RuntimeException e) {
+            log.error("[EcoMapStats] Failed to count approved submission {}", event.getSubmissionId(), e);
+        }
+    }
+
+    /**
+     * Seeds the aggregate from existing data the first time the application starts
+     * with this table; afterwards it is only ever touched by {@link #onSubmissionApproved}.
+     * <p>
+     * The row is created first and held locked while counting, so instances starting together
+     * run this once, and pins recorded meanwhile wait and land on the recounted totals. Pins
+     * recorded before the lock are already part of the recount, which replaces them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfMissing() {
+        statsRepository.createIfAbsent();
+        EcoMapStats stats = statsRepository.lockById(EcoMapStats.SINGLETON_ID);
+        if (stats.isBackfilled())
+            return;
+
+        ChallengeSubmission.SubmissionStatus approved = ChallengeSubmission.SubmissionStatus.APPROVED;
+        speciesRepository.backfillFromApprovedSubmissions();
+
+        stats.setTotalPins(submissionRepository.countByStatusAndGeoLatIsNotNullAndGeoLngIsNotNull(approved));
+        stats.setNativeSpeciesCount(submissionRepository
+                .countByStatusAndGeoLatIsNotNullAndGeoLngIsNotNullAndIsNativeSpeciesTrue(approved));
+        stats.setUniqueSpeciesCount(speciesRepository.count());
+        stats.setBackfilled(true);
+        stats.setUpdatedAt(LocalDateTime.now());
+
+        log.info("[EcoMapStats] Backfilled stats: {} pins, {} species",
+                stats.getTotalPins(), stats.getUniqueSpeciesCount());
+    }
+}
@@ -0,0 +1,210 @@
+package com.backend.ecoally.service;
+
+import com.backend.ecoally.events.AwakeReportChangedEvent;
+import com.backend.ecoally.events.SubmissionApprovedEvent;
+import com.backend.ecoally.exception.AppException;
+import com.backend.ecoally.geo.WebMercator;
+import com.backend.ecoally.model.AwakeReport;
+import com.backend.ecoally.model.ChallengeSubmission;
+import com.backend.ecoally.repository.AwakeReportRepository;
+import com.backend.ecoally.repository.ChallengeSubmissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Density grids for the biodiversity heatmap layer, one {@value #GRID_SIZE}x{@value #GRID_SIZE}
+ * grid per z/x/y tile.
+ * <p>
+ * Tiles live in an LRU cache and are only ever built by a background job, never on the
+ * request thread. A first request for a tile caches an empty placeholder (reported as
+ * {@code pending}) and queues it; committed approvals and AwakeMap changes mark the cached
+ * tiles containing that point as dirty (one per zoom level). Clients keep getting the
+ * previous grid until the fresh one is ready, and untouched tiles are never rebuilt.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HeatmapTileService {
+
+    public static final int GRID_SIZE = 32;
+
+    private final ChallengeSubmissionRepository submissionRepository;
+    private final AwakeReportRepository awakeReportRepository;
+
+    @Value("${map.tiles.max-zoom:18}")
+    private int maxZoom;
+
+    @Value("${map.tiles.cache-size:2048}")
+    private int cacheSize;
+
+    @Value("${map.tiles.prebuild-max-zoom:2}")
+    private int prebuildMaxZoom;
+
+    private final Set<Long> dirtyTiles = ConcurrentHashMap.newKeySet();
+    private volatile boolean prebuilt = false;
+
+    // Access-ordered LinkedHashMap = LRU; guarded by its own monitor
+    private final Map<Long, Tile> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Tile> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    public Map<String, Object> getTile(int z, int x, int y) {
+        if (z < 0 || z > maxZoom || x < 0 || y < 0 || x >= (1 << z) || y >= (1 << z)) {
+            throw AppException.badRequest("Tile coordinates out of range");
+        }
+
+        long key = key(z, x, y);
+        Tile tile;
+        synchronized (cache) {
+            tile = cache.get(key);
+            if (tile == null) {
+                tile = Tile.PENDING;
+                cache.put(key, tile);
+            }
+        }
+        if (tile == Tile.PENDING) {
+            dirtyTiles.add(key);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("z", z);
+        result.put("x", x);
+        result.put("y", y);
+        result.put("gridSize", GRID_SIZE);
+        result.put("ecoActions", tile.ecoActions());
+        result.put("openReports", tile.openReports());
+        result.put("maxEcoActions", Arrays.stream(tile.ecoActions()).max().orElse(0));
+        result.put("maxOpenReports", Arrays.stream(tile.openReports()).max().orElse(0));
+        result.put("builtAt", tile.builtAt());
+        result.put("pending", tile == Tile.PENDING);
+        return result;
+    }
+
+    // After commit, so a rebuild triggered by the mark always sees the change
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSubmissionApproved(SubmissionApprovedEvent event) {
+        markDirty(event.getGeoLat(), event.getGeoLng());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAwakeReportChanged(AwakeReportChangedEvent event) {
+        markDirty(event.getLat(), event.getLng());
+    }
+
+    /**
+     * Background job: warms the lowest zoom levels once, then rebuilds only the
+     * cached tiles that new data has touched since the previous run.
+     */
+    @Scheduled(fixedDelayString = "${map.tiles.rebuild-interval-ms:5000}")
+    public void rebuildDirtyTiles() {
+        if (!prebuilt) {
+            prebuilt = true;
+            for (int z = 0; z <= Math.min(prebuildMaxZoom, maxZoom); z++) {
+                for (int x = 0; x < (1 << z); x++) {
+                    for (int y = 0; y < (1 << z); y++) {
+                        put(key(z, x, y), build(z, x, y));
+                    }
+                }
+            }
+        }
+
+        if (dirtyTiles.isEmpty())
+            return;
+
+        // Claim the current marks before building: anything marked while we build stays queued
+        List<Long> batch = List.of(dirtyTiles.toArray(new Long[0]));
+        dirtyTiles.removeAll(batch);
+
+        int rebuilt = 0;
+        for (Long key : batch) {
+            int z = (int) (key >>> 58);
+            int x = (int) ((key >>> 29) & 0x1FFFFFFF);
+            int y = (int) (key & 0x1FFFFFFF);
+            if (isCached(key)) {
+                put(key, build(z, x, y));
+                rebuilt++;
+            }
+        }
+        log.debug("[Heatmap] Rebuilt {} dirty tiles", rebuilt);
+    }
+
+    private void markDirty(Double lat, Double lng) {
+        if (lat == null || lng == null)
+            return;
+        double mx = WebMercator.x(lng);
+        double my = WebMercator.y(lat);
+        for (int z = 0; z <= maxZoom; z++) {
+            long key = key(z, WebMercator.cell(mx, z), WebMercator.cell(my, z));
+            // Uncached tiles are queued on first request — nothing to invalidate
+            if (isCached(key)) {
+                dirtyTiles.add(key);
+            }
+        }
+    }
+
+    private Tile build(int z, int x, int y) {
+        double n = 1 << z;
+        double minLng = WebMercator.lng(x / n);
+        double maxLng = WebMercator.lng((x + 1) / n);
+        double maxLat = WebMercator.lat(y / n);
+        double minLat = WebMercator.lat((y + 1) / n);
+
+        int[] eco = new int[GRID_SIZE * GRID_SIZE];
+        submissionRepository.findGeoPinsByStatusAndGeoLatBetweenAndGeoLngBetween(
+                ChallengeSubmission.SubmissionStatus.APPROVED, minLat, maxLat, minLng, maxLng)
+                .forEach(p -> bin(eco, z, x, y, p.getGeoLat(), p.getGeoLng()));
+
+        int[] reports = new int[GRID_SIZE * GRID_SIZE];
+        awakeReportRepository.findGeoByStatusAndLatBetweenAndLngBetween(
+                AwakeReport.ReportStatus.OPEN, minLat, maxLat, minLng, maxLng)
+                .forEach(r -> bin(reports, z, x, y, r.getLat(), r.getLng()));
+
+        return new Tile(eco, reports, LocalDateTime.now());
+    }
+
+    private static void bin(int[] grid, int z, int x, int y, double lat, double lng) {
+        double n = 1 << z;
+        int col = (int) ((WebMercator.x(lng) * n - x) * GRID_SIZE);
+        int row = (int) ((WebMercator.y(lat) * n - y) * GRID_SIZE);
+        // Points exactly on the shared edge belong to this tile's last bin
+        col = Math.max(0, Math.min(GRID_SIZE - 1, col));
+        row = Math.max(0, Math.min(GRID_SIZE - 1, row));
+        grid[row * GRID_SIZE + col]++;
+    }
+
+    private boolean isCached(long key) {
+        synchronized (cache) {
+            return cache.containsKey(key);
+        }
+    }
+
+    private void put(long key, Tile tile) {
+        synchronized (cache) {
+            cache.put(key, tile);
+        }
+    }
+
+    private static long key(int z, int x, int y) {
+        return ((long) z << 58) | ((long) x << 29) | y;
+    }
+
+    private record Tile(int[] ecoActions, int[] openReports, LocalDateTime builtAt) {
+        static final Tile PENDING = new Tile(new int[GRID_SIZE * GRID_SIZE], new int[GRID_SIZE * GRID_SIZE], null);
+    }
+}
@@ -0,0 +1,190 @@
+package com.backend.ecoally.service;
+
+import com.backend.ecoally.events.AwakeReportChangedEvent;
+import com.backend.ecoally.events.SubmissionApprovedEvent;
+import com.backend.ecoally.geo.GeoClusterIndex;
+import com.backend.ecoally.model.AwakeReport;
+import com.backend.ecoally.model.ChallengeSubmission;
+import com.backend.ecoally.repository.AwakeReportRepository;
+import com.backend.ecoally.repository.ChallengeSubmissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Server-side clustering for the EcoMap and AwakeMap layers.
+ * <p>
+ * Both pyramids are loaded once at startup from a column projection and then kept
+ * current from {@link SubmissionApprovedEvent} / {@link AwakeReportChangedEvent},
+ * so a cluster request never touches the database.
+ * <p>
+ * Each layer remembers which submission / report ids it holds (and each report's status),
+ * so applying an event is idempotent: a change already in the startup snapshot is not
+ * counted twice, and a resolve that overtakes its filing still leaves the right category.
+ * Events arriving before the first index is live, or during a rebuild, are buffered and
+ * replayed onto the fresh snapshot.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MapClusterService {
+
+    private final ChallengeSubmissionRepository submissionRepository;
+    private final AwakeReportRepository awakeReportRepository;
+
+    @Value("${map.cluster.max-zoom:12}")
+    private int maxZoom;
+
+    private record EcoLayer(GeoClusterIndex index, Set<Long> submissionIds) {
+    }
+
+    private record AwakeLayer(GeoClusterIndex index, Map<Long, AwakeReport.ReportStatus> statuses) {
+    }
+
+    private volatile EcoLayer ecoLayer;
+    private volatile AwakeLayer awakeLayer;
+
+    // Non-null while no index is live or a rebuild is running; guarded by this, like the layers' id maps
+    private List<Object> pending = new ArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            if (pending == null)
+                pending = new ArrayList<>();
+        }
+
+        EcoLayer eco = new EcoLayer(new GeoClusterIndex(maxZoom), new HashSet<>());
+        submissionRepository.findGeoPinsByStatusAndGeoLatIsNotNullAndGeoLngIsNotNull(
+                ChallengeSubmission.SubmissionStatus.APPROVED)
+                .forEach(p -> {
+                    eco.submissionIds().add(p.getId());
+                    eco.index().add(p.getGeoLat(), p.getGeoLng(), p.getDetectedSpecies());
+                });
+
+        AwakeLayer awake = new AwakeLayer(new GeoClusterIndex(maxZoom), new HashMap<>());
+        awakeReportRepository.findGeoByLatIsNotNullAndLngIsNotNull()
+                .forEach(r -> {
+                    awake.statuses().put(r.getId(), r.getStatus());
+                    awake.index().add(r.getLat(), r.getLng(), r.getStatus().name());
+                });
+
+        int replayed;
+        synchronized (this) {
+            replayed = pending.size();
+            for (Object event : pending) {
+                if (event instanceof SubmissionApprovedEvent approved) {
+                    apply(eco, approved);
+                } else if (event instanceof AwakeReportChangedEvent changed) {
+                    apply(awake, changed);
+                }
+            }
+            this.ecoLayer = eco;
+            this.awakeLayer = awake;
+            this.pending = null;
+        }
+        log.info("[MapCluster] Built cluster pyramids up to zoom {}, replayed {} buffered events", maxZoom, replayed);
+    }
+
+    // Both listeners run after commit and off the request thread, so a rolled-back change never
+    // reaches the index and an index failure never reaches the caller
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSubmissionApproved(SubmissionApprovedEvent event) {
+        if (event.getGeoLat() == null || event.getGeoLng() == null)
+            return;
+        try {
+            synchronized (this) {
+                if (pending != null) {
+                    pending.add(event);
+                } else {
+                    apply(ecoLayer, event);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("[MapCluster] Failed to index approved submission {}", event.getSubmissionId(), e);
+        }
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAwakeReportChanged(AwakeReportChangedEvent event) {
+        if (event.getLat() == null || event.getLng() == null)
+            return;
+        try {
+            synchronized (this) {
+                if (pending != null) {
+                    pending.add(event);
+                } else {
+                    apply(awakeLayer, event);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("[MapCluster] Failed to index AwakeMap report {}", event.getReportId(), e);
+        }
+    }
+
+    private static void apply(EcoLayer layer, SubmissionApprovedEvent event) {
+        if (layer.submissionIds().add(event.getSubmissionId())) {
+            layer.index().add(event.getGeoLat(), event.getGeoLng(), event.getDetectedSpecies());
+        }
+    }
+
+    // Moves the report from whatever status the layer holds to the event's; a filing event for
+    // a report the layer already holds is a no-op, whichever order the two events arrived in
+    private static void apply(AwakeLayer layer, AwakeReportChangedEvent event) {
+        AwakeReport.ReportStatus known = layer.statuses().get(event.getReportId());
+        if (known == null) {
+            layer.index().add(event.getLat(), event.getLng(), event.getStatus().name());
+        } else if (event.getPreviousStatus() != null && known != event.getStatus()) {
+            layer.index().recategorize(event.getLat(), event.getLng(), known.name(), event.getStatus().name());
+        } else {
+            return;
+        }
+        layer.statuses().put(event.getReportId(), event.getStatus());
+    }
+
+    public List<Map<String, Object>> getEcoClusters(int zoom, double minLat, double minLng,
+            double maxLat, double maxLng) {
+        EcoLayer eco = ecoLayer;
+        return toMarkers(eco != null ? eco.index() : null, zoom, minLat, minLng, maxLat, maxLng, "dominantSpecies");
+    }
+
+    public List<Map<String, Object>> getAwakeClusters(int zoom, double minLat, double minLng,
+            double maxLat, double maxLng) {
+        AwakeLayer awake = awakeLayer;
+        return toMarkers(awake != null ? awake.index() : null, zoom, minLat, minLng, maxLat, maxLng, "dominantStatus");
+    }
+
+    private List<Map<String, Object>> toMarkers(GeoClusterIndex index, int zoom, double minLat, double minLng,
+            double maxLat, double maxLng, String dominantKey) {
+        List<Map<String, Object>> markers = new ArrayList<>();
+        if (index == null)
+            return markers;
+
+        for (GeoClusterIndex.Cluster c : index.query(zoom, minLat, minLng, maxLat, maxLng)) {
+            Map<String, Object> marker = new LinkedHashMap<>();
+            marker.put("lat", c.lat());
+            marker.put("lng", c.lng());
+            marker.put("count", c.count());
+            marker.put(dominantKey, c.dominantCategory());
+            marker.put("breakdown", c.categories());
+            markers.add(marker);
+        }
+        return markers;
+    }
+}
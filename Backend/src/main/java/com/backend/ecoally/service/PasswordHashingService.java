@@ -0,0 +1,137 @@
+package com.backend.ecoally.service;
+
+import com.backend.ecoally.exception.AppException;
+import com.backend.ecoally.repository.UserRepository;
+import com.backend.ecoally.security.PrincipalCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on a small dedicated pool instead of the Tomcat request threads.
+ * <p>
+ * The pool is sized to the cores we are willing to spend on hashing and has a bounded
+ * queue: once that queue is full (a class-wide login storm), further logins are shed
+ * with 503 straight away rather than piling up and starving every other endpoint.
+ * Opportunistic rehashes of legacy hashes run on a separate single low-priority thread,
+ * so they never take capacity from logins.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor upgradeExecutor;
+    private final long timeoutMs;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+            UserRepository userRepository,
+            PrincipalCache principalCache,
+            @Value("${security.password.hash-threads:0}") int threads,
+            @Value("${security.password.hash-queue-capacity:64}") int queueCapacity,
+            @Value("${security.password.hash-timeout-ms:5000}") long timeoutMs,
+            @Value("${security.password.upgrade-queue-capacity:16}") int upgradeQueueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.timeoutMs = timeoutMs;
+
+        // Default: half the cores, so hashing can never take the whole machine
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.upgradeExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(upgradeQueueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-upgrade");
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String encode(String rawPassword) {
+        return await(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String storedHash) {
+        return await(() -> passwordEncoder.matches(rawPassword, storedHash));
+    }
+
+    /**
+     * Rehashes with the current encoder settings if the stored hash is outdated. Runs in
+     * the background and is skipped while logins are queueing or the upgrade queue is
+     * full — the next login retries it.
+     */
+    public void upgradeIfNeeded(Long userId, String rawPassword, String storedHash) {
+        if (!passwordEncoder.upgradeEncoding(storedHash))
+            return;
+        if (!executor.getQueue().isEmpty()) {
+            log.debug("[Auth] Hash upgrade for user {} deferred, logins queueing", userId);
+            return;
+        }
+        try {
+            upgradeExecutor.execute(() -> {
+                String newHash = passwordEncoder.encode(rawPassword);
+                if (userRepository.replacePasswordHash(userId, storedHash, newHash) > 0) {
+                    principalCache.evict(userId);
+                    log.debug("[Auth] Upgraded password hash for user {}", userId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("[Auth] Hash upgrade for user {} deferred, pool busy", userId);
+        }
+    }
+
+    private <T> T await(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw AppException.serviceUnavailable("Too many sign-in attempts right now. Please try again shortly.");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw AppException.serviceUnavailable("Too many sign-in attempts right now. Please try again shortly.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw AppException.serviceUnavailable("Sign-in was interrupted. Please try again.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        upgradeExecutor.shutdown();
+    }
+}
@@ -1,13 +1,15 @@
 package com.backend.ecoally.service;
 
 import com.backend.ecoally.exception.AppException;
-import com.backend.ecoally.model.Student;
-import com.backend.ecoally.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -15,43 +17,71 @@ public class PointsService {
 
     private static final int POINTS_PER_LEVEL = 100;
 
-    private final StudentRepository studentRepository;
+    /** Tier thresholds, highest first; the last one applies from zero points. */
+    private record Tier(int minPoints, String name) {
+    }
+
+    private static final List<Tier> TIERS = List.of(
+            new Tier(10000, "legend"),
+            new Tier(5000, "master"),
+            new Tier(2000, "guardian"),
+            new Tier(500, "explorer"),
+            new Tier(0, "sprout"));
+
+    // SET expressions see the old row, hence "points + :points" throughout.
+    // Level and tier are generated from POINTS_PER_LEVEL and TIERS, as in calculateLevel and calculateTier.
+    private static final String ADD_POINTS_SQL = """
+            UPDATE students SET
+              points = points + :points,
+              coins = coins + :coins,
+              level = (points + :points) / %d + 1,
+              tier = CASE %s ELSE '%s' END,
+              updated_at = now()
+            WHERE id = :id
+            RETURNING points, coins, level, tier
+            """.formatted(POINTS_PER_LEVEL,
+            TIERS.subList(0, TIERS.size() - 1).stream()
+                    .map(t -> "WHEN points + :points >= %d THEN '%s'".formatted(t.minPoints(), t.name()))
+                    .collect(Collectors.joining(" ")),
+            TIERS.get(TIERS.size() - 1).name());
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
 
     public int calculateLevel(int points) {
         return (points / POINTS_PER_LEVEL) + 1;
     }
 
     public String calculateTier(int points) {
-        if (points >= 10000)
-            return "legend";
-        if (points >= 5000)
-            return "master";
-        if (points >= 2000)
-            return "guardian";
-        if (points >= 500)
-            return "explorer";
-        return "sprout";
+        for (Tier tier : TIERS) {
+            if (points >= tier.minPoints())
+                return tier.name();
+        }
+        return TIERS.get(TIERS.size() - 1).name();
     }
 
+    /**
+     * Adds points and coins relative to the stored values in one statement, so it can't
+     * overwrite a concurrent spend or earn on any node. Level and tier are derived in the
+     * same statement.
+     */
     public Map<String, Object> addPoints(Long studentId, int points, int coins) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> AppException.notFound("Student not found"));
-
-        student.setPoints(student.getPoints() + points);
-        student.setCoins(student.getCoins() + coins);
-        student.setLevel(calculateLevel(student.getPoints()));
-        student.setTier(calculateTier(student.getPoints()));
-
-        studentRepository.save(student);
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("points", student.getPoints());
-        result.put("coins", student.getCoins());
-        result.put("level", student.getLevel());
-        result.put("tier", student.getTier());
-        result.put("pointsAdded", points);
-        result.put("coinsAdded", coins);
-        return result;
+        List<Map<String, Object>> rows = jdbcTemplate.query(ADD_POINTS_SQL, new MapSqlParameterSource()
+                .addValue("id", studentId)
+                .addValue("points", points)
+                .addValue("coins", coins),
+                (rs, i) -> {
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("points", rs.getInt("points"));
+                    result.put("coins", rs.getInt("coins"));
+                    result.put("level", rs.getInt("level"));
+                    result.put("tier", rs.getString("tier"));
+                    result.put("pointsAdded", points);
+                    result.put("coinsAdded", coins);
+                    return result;
+                });
+        if (rows.isEmpty())
+            throw AppException.notFound("Student not found");
+        return rows.get(0);
     }
 
     public Map<String, Integer> calculateQuizRewards(String difficulty, int score) {
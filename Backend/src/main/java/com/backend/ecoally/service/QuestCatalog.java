@@ -0,0 +1,85 @@
+package com.backend.ecoally.service;
+
+import com.backend.ecoally.model.Quest;
+import com.backend.ecoally.repository.QuestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory snapshot of the active quest definitions. Quests are seeded once and almost
+ * never change, so progress updates read them from here instead of querying per activity.
+ * <p>
+ * Call {@link #refresh()} after changing quests; a periodic reload
+ * ({@code quests.catalog.refresh-interval-ms}) picks up edits made directly in the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestCatalog {
+
+    private final QuestRepository questRepository;
+
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(List<Quest> active, Map<Long, Quest> byId,
+            Map<Quest.QuestAction, List<Quest>> byAction) {
+    }
+
+    public List<Quest> getActive() {
+        return snapshot().active();
+    }
+
+    /** Quests advanced by the given action, e.g. only the quiz quests for a quiz submission. */
+    public List<Quest> getActive(Quest.QuestAction action) {
+        return snapshot().byAction().getOrDefault(action, List.of());
+    }
+
+    public Optional<Quest> findActive(Long questId) {
+        return Optional.ofNullable(snapshot().byId().get(questId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${quests.catalog.refresh-interval-ms:300000}",
+            fixedDelayString = "${quests.catalog.refresh-interval-ms:300000}")
+    public synchronized void refresh() {
+        List<Quest> active = List.copyOf(questRepository.findByIsActiveTrue());
+        snapshot = new Snapshot(active,
+                active.stream().collect(Collectors.toUnmodifiableMap(Quest::getId, q -> q)),
+                index(active, Quest::getAction, Quest.QuestAction.class));
+        log.debug("[Quests] Catalog loaded with {} active quests", active.size());
+    }
+
+    private static <K extends Enum<K>> Map<K, List<Quest>> index(List<Quest> quests,
+            Function<Quest, K> key, Class<K> keyType) {
+        Map<K, List<Quest>> index = new EnumMap<>(keyType);
+        for (Quest quest : quests) {
+            K k = key.apply(quest);
+            if (k != null)
+                index.computeIfAbsent(k, x -> new ArrayList<>()).add(quest);
+        }
+        index.replaceAll((k, list) -> List.copyOf(list));
+        return Collections.unmodifiableMap(index);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            refresh();
+            s = snapshot;
+        }
+        return s;
+    }
+}
@@ -0,0 +1,52 @@
+package com.backend.ecoally.service;
+
+import com.backend.ecoally.events.QuizSubmittedEvent;
+import com.backend.ecoally.events.StreakUpdatedEvent;
+import com.backend.ecoally.events.SubmissionApprovedEvent;
+import com.backend.ecoally.model.Quest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Turns activity events into quest progress. Each event maps to the {@link Quest.QuestAction}s
+ * it can advance and touches only the quests indexed under those actions in {@link QuestCatalog}.
+ * <p>
+ * Runs asynchronously once the publishing transaction has committed (or straight away when
+ * published outside one), so quest bookkeeping never adds latency to — or rolls back — a submission.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuestEvaluator {
+
+    private static final int PERFECT_SCORE = 100;
+
+    private final QuestService questService;
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onQuizSubmitted(QuizSubmittedEvent event) {
+        questService.advance(event.getStudentId(), Quest.QuestAction.COMPLETE_QUIZ, 1);
+        if (event.getScore() >= PERFECT_SCORE) {
+            questService.advance(event.getStudentId(), Quest.QuestAction.PERFECT_SCORE, 1);
+        }
+    }
+
+    // Only approved work counts, whichever path (auto-approval, Kafka, teacher review) approved it
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSubmissionApproved(SubmissionApprovedEvent event) {
+        questService.advance(event.getStudentId(), Quest.QuestAction.COMPLETE_CHALLENGE, 1);
+    }
+
+    // Progress tracks the streak itself, so a broken streak never lowers a quest already earned
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStreakUpdated(StreakUpdatedEvent event) {
+        questService.raiseTo(event.getStudentId(), Quest.QuestAction.MAINTAIN_STREAK, event.getCurrentStreak());
+    }
+}
@@ -0,0 +1,103 @@
+package com.backend.ecoally.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Moves expired daily and weekly quest progress out of {@code quest_progresses} into
+ * {@code quest_progress_summaries}, so the live table only holds the current periods.
+ * <p>
+ * Runs off-peak ({@code quests.rollover.cron}, 03:30 by default) in small batches with a
+ * pause between them and a hard time budget, so it never holds locks or I/O for long.
+ * Each batch deletes and aggregates in a single statement; {@code SKIP LOCKED} lets rows
+ * being updated right now wait for the next batch, and lets two nodes run it safely.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestRolloverJob {
+
+    // Data-modifying CTEs always run to completion; the outer SELECT just reports the batch size
+    private static final String ROLLOVER_SQL = """
+            WITH moved AS (
+              DELETE FROM quest_progresses
+              WHERE id IN (SELECT id FROM quest_progresses
+                           WHERE period_end < ?
+                           ORDER BY id
+                           LIMIT ?
+                           FOR UPDATE SKIP LOCKED)
+              RETURNING student_id, quest_id, progress, completed, period_end
+            ), summed AS (
+              INSERT INTO quest_progress_summaries (student_id, daily_completed, weekly_completed,
+                  quests_completed, total_progress, periods_archived, last_period_end, updated_at)
+              SELECT m.student_id,
+                     count(*) FILTER (WHERE m.completed AND q.type = 'DAILY'),
+                     count(*) FILTER (WHERE m.completed AND q.type = 'WEEKLY'),
+                     count(*) FILTER (WHERE m.completed),
+                     coalesce(sum(m.progress), 0),
+                     count(*),
+                     max(m.period_end),
+                     now()
+              FROM moved m LEFT JOIN quests q ON q.id = m.quest_id
+              GROUP BY m.student_id
+              ON CONFLICT (student_id) DO UPDATE SET
+                daily_completed = quest_progress_summaries.daily_completed + EXCLUDED.daily_completed,
+                weekly_completed = quest_progress_summaries.weekly_completed + EXCLUDED.weekly_completed,
+                quests_completed = quest_progress_summaries.quests_completed + EXCLUDED.quests_completed,
+                total_progress = quest_progress_summaries.total_progress + EXCLUDED.total_progress,
+                periods_archived = quest_progress_summaries.periods_archived + EXCLUDED.periods_archived,
+                last_period_end = GREATEST(quest_progress_summaries.last_period_end, EXCLUDED.last_period_end),
+                updated_at = now()
+            )
+            SELECT count(*) FROM moved
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${quests.rollover.enabled:true}")
+    private boolean enabled;
+
+    @Value("${quests.rollover.batch-size:2000}")
+    private int batchSize;
+
+    @Value("${quests.rollover.pause-ms:250}")
+    private long pauseMs;
+
+    @Value("${quests.rollover.max-minutes:20}")
+    private long maxMinutes;
+
+    @Scheduled(cron = "${quests.rollover.cron:0 30 3 * * *}")
+    public void rollover() {
+        if (!enabled)
+            return;
+
+        long deadline = System.nanoTime() + Duration.ofMinutes(maxMinutes).toNanos();
+        // EPIC quests end in 2099, so only finished daily/weekly periods qualify
+        LocalDateTime cutoff = LocalDateTime.now();
+        long total = 0;
+        int batches = 0;
+        try {
+            while (System.nanoTime() < deadline) {
+                Long moved = jdbcTemplate.queryForObject(ROLLOVER_SQL, Long.class, cutoff, batchSize);
+                batches++;
+                total += moved != null ? moved : 0;
+                if (moved == null || moved < batchSize)
+                    break;
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("[Quests] Rollover stopped after {} rows: {}", total, e.getMessage());
+            return;
+        }
+        log.info("[Quests] Rolled {} expired progress rows into summaries in {} batches", total, batches);
+    }
+}
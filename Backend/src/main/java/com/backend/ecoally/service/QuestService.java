@@ -6,6 +6,8 @@ import com.backend.ecoally.model.QuestProgress;
 import com.backend.ecoally.repository.QuestProgressRepository;
 import com.backend.ecoally.repository.QuestRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.DayOfWeek;
@@ -18,9 +20,25 @@ import java.util.*;
 @RequiredArgsConstructor
 public class QuestService {
 
+    // SET expressions see the pre-update row, so every branch tests the old progress
+    private static final String UPSERT_PROGRESS_SQL = "INSERT INTO quest_progresses "
+            + "(student_id, quest_id, progress, completed, completed_at, period_start, period_end, created_at, updated_at) "
+            + "VALUES (:studentId, :questId, LEAST(GREATEST(:increment, :floor), :target), "
+            + "GREATEST(:increment, :floor) >= :target, "
+            + "CASE WHEN GREATEST(:increment, :floor) >= :target THEN now() END, :periodStart, :periodEnd, now(), now()) "
+            + "ON CONFLICT (student_id, quest_id, period_start) DO UPDATE SET "
+            + "progress = LEAST(GREATEST(quest_progresses.progress + :increment, :floor), :target), "
+            + "completed = GREATEST(quest_progresses.progress + :increment, :floor) >= :target, "
+            + "completed_at = CASE WHEN GREATEST(quest_progresses.progress + :increment, :floor) >= :target "
+            + "THEN now() END, "
+            + "updated_at = now() "
+            + "WHERE NOT quest_progresses.completed";
+
     private final QuestRepository questRepository;
     private final QuestProgressRepository questProgressRepository;
     private final PointsService pointsService;
+    private final QuestCatalog questCatalog;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
 
     private LocalDateTime[] getPeriodBoundaries(Quest.QuestType type) {
         LocalDateTime now = LocalDateTime.now();
@@ -46,27 +64,38 @@ public class QuestService {
         return new LocalDateTime[] { start, end };
     }
 
+    /**
+     * Active quests with the student's progress for the current periods, read in one query.
+     * Rows only exist once a quest has real progress; missing ones are synthesized at zero
+     * and never written.
+     */
     public List<Map<String, Object>> getActiveQuests(Long studentId) {
-        List<Quest> quests = questRepository.findByIsActiveTrue();
-        List<Map<String, Object>> result = new ArrayList<>();
+        List<Quest> quests = questCatalog.getActive();
+        Map<Quest.QuestType, LocalDateTime[]> periods = new EnumMap<>(Quest.QuestType.class);
+        for (Quest quest : quests) {
+            periods.computeIfAbsent(quest.getType(), this::getPeriodBoundaries);
+        }
+
+        Map<String, QuestProgress> existing = new HashMap<>();
+        if (!periods.isEmpty()) {
+            List<LocalDateTime> periodStarts = periods.values().stream().map(p -> p[0]).distinct().toList();
+            for (QuestProgress p : questProgressRepository.findByStudentIdAndPeriodStartIn(studentId, periodStarts)) {
+                existing.put(p.getQuestId() + "_" + p.getPeriodStart(), p);
+            }
+        }
 
+        List<Map<String, Object>> result = new ArrayList<>();
         for (Quest quest : quests) {
-            LocalDateTime[] period = getPeriodBoundaries(quest.getType());
-            LocalDateTime periodStart = period[0];
-            LocalDateTime periodEnd = period[1];
-
-            QuestProgress progress = questProgressRepository
-                    .findByStudentIdAndQuestIdAndPeriodStartAndPeriodEnd(
-                            studentId, quest.getId(), periodStart, periodEnd)
-                    .orElseGet(() -> {
-                        QuestProgress p = new QuestProgress();
-                        p.setStudentId(studentId);
-                        p.setQuestId(quest.getId());
-                        p.setProgress(0);
-                        p.setPeriodStart(periodStart);
-                        p.setPeriodEnd(periodEnd);
-                        return questProgressRepository.save(p);
-                    });
+            LocalDateTime[] period = periods.get(quest.getType());
+            QuestProgress progress = existing.get(quest.getId() + "_" + period[0]);
+            if (progress == null) {
+                progress = new QuestProgress();
+                progress.setStudentId(studentId);
+                progress.setQuestId(quest.getId());
+                progress.setProgress(0);
+                progress.setPeriodStart(period[0]);
+                progress.setPeriodEnd(period[1]);
+            }
 
             Map<String, Object> entry = new HashMap<>();
             entry.put("quest", quest);
@@ -77,35 +106,41 @@ public class QuestService {
         return result;
     }
 
-    public void updateQuestProgress(Long studentId, Quest.QuestType questType, int increment) {
-        List<Quest> quests = questRepository.findByIsActiveTrueAndType(questType);
-        LocalDateTime[] period = getPeriodBoundaries(questType);
+    /** Adds {@code increment} to every active quest driven by {@code action}. */
+    public void advance(Long studentId, Quest.QuestAction action, int increment) {
+        upsertProgress(studentId, action, increment, 0);
+    }
 
-        for (Quest quest : quests) {
-            QuestProgress progress = questProgressRepository
-                    .findByStudentIdAndQuestIdAndPeriodStartAndPeriodEnd(
-                            studentId, quest.getId(), period[0], period[1])
-                    .orElseGet(() -> {
-                        QuestProgress p = new QuestProgress();
-                        p.setStudentId(studentId);
-                        p.setQuestId(quest.getId());
-                        p.setProgress(0);
-                        p.setPeriodStart(period[0]);
-                        p.setPeriodEnd(period[1]);
-                        return p;
-                    });
-
-            if (!progress.isCompleted()) {
-                int maxProgress = quest.getTarget();
-                int newProgress = Math.min(progress.getProgress() + increment, maxProgress);
-                progress.setProgress(newProgress);
-                if (newProgress >= maxProgress) {
-                    progress.setCompleted(true);
-                    progress.setCompletedAt(LocalDateTime.now());
-                }
-                questProgressRepository.save(progress);
-            }
+    /** Raises every active quest driven by {@code action} to at least {@code value}, e.g. the current streak. */
+    public void raiseTo(Long studentId, Quest.QuestAction action, int value) {
+        upsertProgress(studentId, action, 0, value);
+    }
+
+    /**
+     * One batched upsert against {@code uq_student_quest_period} for the quests indexed under
+     * {@code action}: a row is created on first progress, otherwise updated in place to
+     * {@code max(progress + increment, floor)} capped at the target. Completed rows are left untouched.
+     */
+    private void upsertProgress(Long studentId, Quest.QuestAction action, int increment, int floor) {
+        List<Quest> quests = questCatalog.getActive(action);
+        if (quests.isEmpty())
+            return;
+
+        Map<Quest.QuestType, LocalDateTime[]> periods = new EnumMap<>(Quest.QuestType.class);
+        MapSqlParameterSource[] rows = new MapSqlParameterSource[quests.size()];
+        for (int i = 0; i < rows.length; i++) {
+            Quest quest = quests.get(i);
+            LocalDateTime[] period = periods.computeIfAbsent(quest.getType(), this::getPeriodBoundaries);
+            rows[i] = new MapSqlParameterSource()
+                    .addValue("studentId", studentId)
+                    .addValue("questId", quest.getId())
+                    .addValue("increment", increment)
+                    .addValue("floor", floor)
+                    .addValue("target", quest.getTarget())
+                    .addValue("periodStart", period[0])
+                    .addValue("periodEnd", period[1]);
         }
+        jdbcTemplate.batchUpdate(UPSERT_PROGRESS_SQL, rows);
     }
 
     public Map<String, Object> claimQuestReward(Long studentId, Long questId) {
@@ -114,12 +149,13 @@ public class QuestService {
 
         LocalDateTime[] period = getPeriodBoundaries(quest.getType());
 
+        // No row means no progress yet — rows are only created on first progress
         QuestProgress progress = questProgressRepository
                 .findByStudentIdAndQuestIdAndPeriodStartAndPeriodEnd(
                         studentId, questId, period[0], period[1])
-                .orElseThrow(() -> AppException.notFound("Quest progress not found"));
+                .orElse(null);
 
-        if (!progress.isCompleted()) {
+        if (progress == null || !progress.isCompleted()) {
             throw AppException.badRequest("Quest is not completed yet");
         }
 
@@ -0,0 +1,89 @@
+package com.backend.ecoally.service;
+
+import com.backend.ecoally.model.Quiz;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Keyed invalidation for the quiz caches.
+ * <p>
+ * A change to quiz X re-renders only X's view, drops its answer key, and evicts the {@code list_*}
+ * entries of the {@code quizzes} region whose topic/difficulty filter matched X before or
+ * after the change. Every other list stays warm, so the hit rate holds up while teachers author.
+ * Listings are evicted rather than patched: a read-modify-put could race another edit or an
+ * in-flight load and leave a stale listing cached until it expires, while the reload renders
+ * only the quizzes whose views are not cached already.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuizCacheService {
+
+    public static final String CACHE = "quizzes";
+
+    private static final String ALL = "all";
+
+    private final CacheManager cacheManager;
+    private final QuizViewService quizViewService;
+    private final QuizGradingService quizGradingService;
+
+    /** State of a quiz that decides which list entries contain it. */
+    public record ListingKey(Long id, String topic, Quiz.Difficulty difficulty, boolean published) {
+
+        public static ListingKey of(Quiz quiz) {
+            return new ListingKey(quiz.getId(), quiz.getTopic(), quiz.getDifficulty(), quiz.isPublished());
+        }
+    }
+
+    public static String listKey(String topic, Quiz.Difficulty difficulty) {
+        return listKey(topic != null ? topic : ALL, difficulty != null ? difficulty.name() : ALL);
+    }
+
+    /**
+     * @param before listing state prior to the change, or null for a new quiz
+     * @param after  the saved quiz, or null if it was deleted
+     */
+    public void quizChanged(ListingKey before, Quiz after) {
+        Long id = after != null ? after.getId() : before.id();
+        quizGradingService.evict(id);
+        if (after != null) {
+            quizViewService.refresh(after);
+        } else {
+            quizViewService.evict(id);
+        }
+
+        Cache cache = cacheManager.getCache(CACHE);
+        if (cache == null)
+            return;
+
+        ListingKey current = after != null ? ListingKey.of(after) : null;
+        Set<String> listKeys = new LinkedHashSet<>();
+        addListKeys(listKeys, before);
+        addListKeys(listKeys, current);
+
+        listKeys.forEach(cache::evict);
+        log.debug("[QuizCache] Evicted {} for quiz {}", listKeys, id);
+    }
+
+    // Only published quizzes appear in lists, under four possible filter combinations
+    private static void addListKeys(Set<String> keys, ListingKey state) {
+        if (state == null || !state.published())
+            return;
+        String topic = state.topic() != null ? state.topic() : ALL;
+        String difficulty = state.difficulty() != null ? state.difficulty().name() : ALL;
+        keys.add(listKey(ALL, ALL));
+        keys.add(listKey(topic, ALL));
+        keys.add(listKey(ALL, difficulty));
+        keys.add(listKey(topic, difficulty));
+    }
+
+    private static String listKey(String topic, String difficulty) {
+        return "list_" + topic + "_" + difficulty;
+    }
+}
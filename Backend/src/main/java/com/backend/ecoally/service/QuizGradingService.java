@@ -0,0 +1,44 @@
+package com.backend.ecoally.service;
+
+import com.backend.ecoally.exception.AppException;
+import com.backend.ecoally.grading.QuizAnswerKey;
+import com.backend.ecoally.repository.QuizRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+/**
+ * Answer keys for quiz submissions, compiled once per quiz version and cached in
+ * {@value #KEYS_CACHE}. {@link QuizCacheService} evicts a quiz's key whenever it is edited,
+ * so submissions never need the quiz entity or its question rows.
+ */
+@Service
+@RequiredArgsConstructor
+public class QuizGradingService {
+
+    public static final String KEYS_CACHE = "quizAnswerKeys";
+
+    private final QuizRepository quizRepository;
+    private final CacheManager cacheManager;
+
+    public QuizAnswerKey getAnswerKey(Long quizId) {
+        try {
+            return cache().get(QuizViewService.viewKey(quizId), () -> QuizAnswerKey.compile(quizRepository
+                    .findById(quizId)
+                    .orElseThrow(() -> AppException.notFound("Quiz not found"))));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw e;
+        }
+    }
+
+    public void evict(Long quizId) {
+        cache().evict(QuizViewService.viewKey(quizId));
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(KEYS_CACHE);
+    }
+}
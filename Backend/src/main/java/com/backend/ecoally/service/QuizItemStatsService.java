@@ -0,0 +1,92 @@
+package com.backend.ecoally.service;
+
+import com.backend.ecoally.grading.QuizAnswerKey;
+import com.backend.ecoally.model.Question;
+import com.backend.ecoally.model.Quiz;
+import com.backend.ecoally.model.QuizQuestionStats;
+import com.backend.ecoally.repository.QuizQuestionStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Incrementally maintained item analytics: each graded submission upserts one row per
+ * question in a single JDBC batch, so reading a quiz's item difficulty costs one indexed
+ * query no matter how many attempts it has.
+ */
+@Service
+@RequiredArgsConstructor
+public class QuizItemStatsService {
+
+    // Atomic in-place increment; rows are created on a question's first graded answer
+    private static final String UPSERT_SQL = "INSERT INTO quiz_question_stats (question_id, quiz_id, attempts, "
+            + "correct_count, option0_count, option1_count, option2_count, option3_count, skipped_count, updated_at) "
+            + "VALUES (?, ?, 1, ?, ?, ?, ?, ?, ?, now()) "
+            + "ON CONFLICT (question_id) DO UPDATE SET "
+            + "attempts = quiz_question_stats.attempts + 1, "
+            + "correct_count = quiz_question_stats.correct_count + EXCLUDED.correct_count, "
+            + "option0_count = quiz_question_stats.option0_count + EXCLUDED.option0_count, "
+            + "option1_count = quiz_question_stats.option1_count + EXCLUDED.option1_count, "
+            + "option2_count = quiz_question_stats.option2_count + EXCLUDED.option2_count, "
+            + "option3_count = quiz_question_stats.option3_count + EXCLUDED.option3_count, "
+            + "skipped_count = quiz_question_stats.skipped_count + EXCLUDED.skipped_count, "
+            + "updated_at = now()";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QuizQuestionStatsRepository statsRepository;
+
+    /** Records one graded submission; joins the caller's transaction. */
+    public void record(Long quizId, QuizAnswerKey.Grade grade) {
+        List<Object[]> rows = new ArrayList<>(grade.totalQuestions());
+        for (QuizAnswerKey.QuestionResult q : grade.questions()) {
+            Integer answer = q.userAnswer();
+            boolean valid = answer != null && answer >= 0 && answer <= 3;
+            rows.add(new Object[] { q.id(), quizId, q.correct() ? 1 : 0,
+                    valid && answer == 0 ? 1 : 0,
+                    valid && answer == 1 ? 1 : 0,
+                    valid && answer == 2 ? 1 : 0,
+                    valid && answer == 3 ? 1 : 0,
+                    valid ? 0 : 1 });
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        }
+    }
+
+    /** Stats for the quiz's current questions, in display order. */
+    public List<Map<String, Object>> getItemStats(Quiz quiz) {
+        Map<Long, QuizQuestionStats> byQuestion = statsRepository.findByQuizId(quiz.getId()).stream()
+                .collect(Collectors.toMap(QuizQuestionStats::getQuestionId, Function.identity()));
+
+        return quiz.getQuestions().stream()
+                .sorted(Comparator.comparingInt(Question::getQuestionOrder))
+                .map(q -> {
+                    QuizQuestionStats s = byQuestion.getOrDefault(q.getId(), new QuizQuestionStats());
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("questionId", q.getId());
+                    entry.put("text", q.getText());
+                    entry.put("correctAnswer", q.getCorrectAnswer());
+                    entry.put("attempts", s.getAttempts());
+                    entry.put("correctCount", s.getCorrectCount());
+                    // Share answering correctly — the classical item difficulty index
+                    entry.put("correctRate", s.getAttempts() > 0 ? (double) s.getCorrectCount() / s.getAttempts() : null);
+                    entry.put("optionCounts", List.of(s.getOption0Count(), s.getOption1Count(),
+                            s.getOption2Count(), s.getOption3Count()));
+                    entry.put("skippedCount", s.getSkippedCount());
+                    return entry;
+                })
+                .collect(Collectors.toList());
+    }
+
+    public void deleteForQuiz(Long quizId) {
+        statsRepository.deleteByQuizId(quizId);
+    }
+}
@@ -0,0 +1,86 @@
+package com.backend.ecoally.service;
+
+import com.backend.ecoally.dto.request.SubmitQuizRequest;
+import com.backend.ecoally.events.QuizSubmittedEvent;
+import com.backend.ecoally.exception.AppException;
+import com.backend.ecoally.grading.QuizAnswerKey;
+import com.backend.ecoally.model.QuizAttempt;
+import com.backend.ecoally.repository.QuizAttemptRepository;
+import com.backend.ecoally.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Quiz submission as one transaction: the attempt insert, the item-stats batch, a relative
+ * points/coins update and the streak mark, without loading the student. Every student write
+ * is a single statement against the stored values, so concurrent earns and spends on any node
+ * can't overwrite each other. A failure part-way no longer leaves an attempt without its
+ * rewards. Quest progress follows from the events published here; see {@link QuestEvaluator}.
+ */
+@Service
+@RequiredArgsConstructor
+public class QuizSubmissionService {
+
+    private final StudentRepository studentRepository;
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final PointsService pointsService;
+    private final StreakService streakService;
+    private final QuizItemStatsService quizItemStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public Map<String, Object> submit(Long userId, QuizAnswerKey answerKey, SubmitQuizRequest request) {
+        Long studentId = studentRepository.findIdByUserId(userId)
+                .orElseThrow(() -> AppException.notFound("Student profile not found"));
+
+        // One pass over the compiled key: score and per-question results together
+        QuizAnswerKey.Grade grade = answerKey.grade(request.getAnswers());
+        int score = grade.score();
+
+        Map<String, Integer> rewards = pointsService.calculateQuizRewards(
+                answerKey.getDifficulty().name(), score);
+
+        // Save attempt (answers keyed by String for JSONB storage)
+        QuizAttempt attempt = new QuizAttempt();
+        attempt.setStudentId(studentId);
+        attempt.setQuizId(answerKey.getQuizId());
+        attempt.setScore(score);
+        attempt.setTotalQuestions(grade.totalQuestions());
+        attempt.setCorrectAnswers(grade.correctAnswers());
+        attempt.setPointsEarned(rewards.get("points"));
+        attempt.setAnswers(request.getAnswers());
+        attempt.setTimeTaken(request.getTimeTaken());
+        quizAttemptRepository.save(attempt);
+        quizItemStatsService.record(answerKey.getQuizId(), grade);
+
+        Map<String, Object> pointsUpdate = pointsService.addPoints(
+                studentId, rewards.get("points"), rewards.get("coins"));
+        Map<String, Object> streakUpdate = streakService.updateStreak(studentId);
+
+        // Quest progress is evaluated asynchronously once this transaction commits
+        eventPublisher.publishEvent(new QuizSubmittedEvent(studentId, answerKey.getQuizId(), score));
+
+        Map<String, Object> attemptSummary = new HashMap<>();
+        attemptSummary.put("_id", attempt.getId());
+        attemptSummary.put("score", score);
+        attemptSummary.put("correctAnswers", grade.correctAnswers());
+        attemptSummary.put("totalQuestions", grade.totalQuestions());
+        attemptSummary.put("pointsEarned", rewards.get("points"));
+        attemptSummary.put("coinsEarned", rewards.get("coins"));
+
+        Map<String, Object> gamification = new HashMap<>();
+        gamification.putAll(pointsUpdate);
+        gamification.putAll(streakUpdate);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("attempt", attemptSummary);
+        result.put("gamification", gamification);
+        result.put("questions", grade.questions());
+        return result;
+    }
+}
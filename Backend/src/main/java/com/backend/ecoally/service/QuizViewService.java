@@ -0,0 +1,162 @@
+package com.backend.ecoally.service;
+
+import com.backend.ecoally.dto.response.ApiResponse;
+import com.backend.ecoally.dto.response.QuizView;
+import com.backend.ecoally.exception.AppException;
+import com.backend.ecoally.model.Quiz;
+import com.backend.ecoally.model.User;
+import com.backend.ecoally.repository.QuizRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Serves quiz reads from JSON rendered once per quiz version.
+ * <p>
+ * {@value #VIEWS_CACHE} holds, per quiz, the student and teacher responses as ready-to-write
+ * bytes; a single-quiz read returns those bytes as-is. The {@code quizzes} region holds only
+ * the ordered ids of each filtered list, and a list response is stitched together from the
+ * per-quiz student bytes. {@link QuizCacheService} refreshes and evicts both on edits.
+ */
+@Service
+@RequiredArgsConstructor
+public class QuizViewService {
+
+    public static final String VIEWS_CACHE = "quizViews";
+
+    private static final byte[] LIST_PREFIX = "{\"success\":true,\"data\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LIST_SUFFIX = "]}".getBytes(StandardCharsets.UTF_8);
+
+    private final QuizRepository quizRepository;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+
+    /** Pre-rendered payloads for one quiz version. */
+    public record RenderedQuiz(LocalDateTime version, byte[] studentData,
+            byte[] studentResponse, byte[] teacherResponse) implements Serializable {
+    }
+
+    /** Ids in a filtered list, newest first. */
+    public record QuizListing(List<Entry> entries) implements Serializable {
+
+        public record Entry(Long id, LocalDateTime createdAt) implements Serializable {
+        }
+    }
+
+    public byte[] getQuizResponse(Long id, User.UserType userType) {
+        RenderedQuiz rendered = getRendered(id);
+        return userType == User.UserType.STUDENT ? rendered.studentResponse() : rendered.teacherResponse();
+    }
+
+    public byte[] getListResponse(String topic, Quiz.Difficulty difficulty) {
+        String key = QuizCacheService.listKey(topic, difficulty);
+        QuizListing listing = load(cache(QuizCacheService.CACHE), key, () -> loadListing(topic, difficulty));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 * (listing.entries().size() + 1));
+        out.writeBytes(LIST_PREFIX);
+        boolean first = true;
+        for (QuizListing.Entry entry : listing.entries()) {
+            RenderedQuiz rendered = findRendered(entry.id());
+            if (rendered == null)
+                continue; // deleted since the listing was cached
+            if (!first)
+                out.write(',');
+            out.writeBytes(rendered.studentData());
+            first = false;
+        }
+        out.writeBytes(LIST_SUFFIX);
+        return out.toByteArray();
+    }
+
+    /** Renders and caches a freshly saved quiz so the next read is already warm. */
+    public void refresh(Quiz quiz) {
+        cache(VIEWS_CACHE).put(viewKey(quiz.getId()), render(quiz));
+    }
+
+    public void evict(Long id) {
+        cache(VIEWS_CACHE).evict(viewKey(id));
+    }
+
+    // ── Loading ───────────────────────────────────────────────────────────────
+
+    private RenderedQuiz getRendered(Long id) {
+        return load(cache(VIEWS_CACHE), viewKey(id), () -> render(quizRepository.findById(id)
+                .orElseThrow(() -> AppException.notFound("Quiz not found"))));
+    }
+
+    private RenderedQuiz findRendered(Long id) {
+        try {
+            return getRendered(id);
+        } catch (AppException e) {
+            return null;
+        }
+    }
+
+    private QuizListing loadListing(String topic, Quiz.Difficulty difficulty) {
+        List<Quiz> quizzes;
+        if (topic != null && difficulty != null) {
+            quizzes = quizRepository.findByIsPublishedTrueAndTopicAndDifficultyOrderByCreatedAtDesc(topic, difficulty);
+        } else if (topic != null) {
+            quizzes = quizRepository.findByIsPublishedTrueAndTopicOrderByCreatedAtDesc(topic);
+        } else if (difficulty != null) {
+            quizzes = quizRepository.findByIsPublishedTrueAndDifficultyOrderByCreatedAtDesc(difficulty);
+        } else {
+            quizzes = quizRepository.findByIsPublishedTrueOrderByCreatedAtDesc();
+        }
+
+        // The list query already fetched every quiz with its questions — render only the views
+        // not cached yet; edits evict theirs, so a cached view is current
+        Cache views = cache(VIEWS_CACHE);
+        for (Quiz quiz : quizzes) {
+            String key = viewKey(quiz.getId());
+            if (views.get(key) == null) {
+                views.putIfAbsent(key, render(quiz));
+            }
+        }
+        return new QuizListing(quizzes.stream()
+                .map(q -> new QuizListing.Entry(q.getId(), q.getCreatedAt()))
+                .toList());
+    }
+
+    private RenderedQuiz render(Quiz quiz) {
+        try {
+            byte[] studentData = objectMapper.writeValueAsBytes(QuizView.forStudent(quiz));
+            return new RenderedQuiz(quiz.getUpdatedAt(), studentData,
+                    objectMapper.writeValueAsBytes(ApiResponse.success(QuizView.forStudent(quiz))),
+                    objectMapper.writeValueAsBytes(ApiResponse.success(QuizView.forTeacher(quiz))));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render quiz " + quiz.getId(), e);
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    static String viewKey(Long id) {
+        return "id_" + id;
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+
+    // Single-flight load; unwraps loader exceptions so AppException keeps its HTTP status
+    private static <T> T load(Cache cache, String key, Callable<T> loader) {
+        try {
+            return cache.get(key, loader);
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.backend.ecoally.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Server-side store items and prices, loaded once from {@code store/items.json}.
+ * Purchases are priced from here; the client-supplied cost is not trusted.
+ * <p>
+ * An item's position in the file is its ordinal, i.e. its bit in
+ * {@code Student.ownedItemsMask}. The file is append-only: never reorder or remove entries.
+ */
+@Component
+public class StoreCatalog {
+
+    public static final String STREAK_SHIELD = "streak_shield";
+
+    private static final String RESOURCE = "store/items.json";
+
+    private final List<StoreItem> items;
+    private final Map<String, StoreItem> byId;
+
+    public record StoreItem(String id, String name, int price, String category, int ordinal) {
+
+        public long bit() {
+            return 1L << ordinal;
+        }
+    }
+
+    private record Entry(String id, String name, int price, String category) {
+    }
+
+    public StoreCatalog(ObjectMapper objectMapper) {
+        List<Entry> entries;
+        try (InputStream in = new ClassPathResource(RESOURCE).getInputStream()) {
+            entries = objectMapper.readValue(in, new TypeReference<List<Entry>>() {
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load " + RESOURCE, e);
+        }
+        if (entries.size() > Long.SIZE)
+            throw new IllegalStateException(RESOURCE + " exceeds " + Long.SIZE + " items");
+
+        List<StoreItem> loaded = new ArrayList<>(entries.size());
+        Map<String, StoreItem> index = new HashMap<>();
+        for (Entry e : entries) {
+            StoreItem item = new StoreItem(e.id(), e.name(), e.price(), e.category(), loaded.size());
+            if (index.putIfAbsent(item.id(), item) != null)
+                throw new IllegalStateException("Duplicate store item " + item.id());
+            loaded.add(item);
+        }
+        this.items = List.copyOf(loaded);
+        this.byId = Map.copyOf(index);
+    }
+
+    public List<StoreItem> getItems() {
+        return items;
+    }
+
+    public Optional<StoreItem> find(String itemId) {
+        return Optional.ofNullable(byId.get(itemId));
+    }
+
+    /** Item ids for the set bits of an owned-items mask, in catalog order. */
+    public List<String> idsOf(long mask) {
+        List<String> ids = new ArrayList<>(Long.bitCount(mask));
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            int ordinal = Long.numberOfTrailingZeros(bits);
+            if (ordinal < items.size())
+                ids.add(items.get(ordinal).id());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,140 @@
+package com.backend.ecoally.service;
+
+import com.backend.ecoally.exception.AppException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coin purchases as single conditional statements.
+ * <p>
+ * The charge only applies while the balance covers the catalog price, so two purchases
+ * racing for the same coins can't both succeed. Owned items are bits in
+ * {@code students.owned_items_mask} (see {@link StoreCatalog}), so the ownership check and
+ * grant sit on the same row as the balance and the student entity is never loaded.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StoreService {
+
+    private static final String PURCHASE_SQL = """
+            UPDATE students SET coins = coins - :price, owned_items_mask = owned_items_mask | :bit,
+                   updated_at = now()
+            WHERE id = :id AND coins >= :price AND owned_items_mask & :bit = 0
+            RETURNING coins, owned_items_mask
+            """;
+
+    private static final String OWNS_SQL = "SELECT owned_items_mask & :bit <> 0 FROM students WHERE id = :id";
+
+    private static final String PURCHASE_SHIELD_SQL = """
+            UPDATE students SET coins = coins - :price, streak_shields = streak_shields + 1, updated_at = now()
+            WHERE id = :id AND coins >= :price
+            RETURNING coins, streak_shields
+            """;
+
+    // ── Legacy student_owned_items table ──────────────────────────────────────
+    private static final String LEGACY_TABLE_EXISTS_SQL = "SELECT to_regclass('student_owned_items') IS NOT NULL";
+    // to_regclass reads the backend's catalog cache, which a waiter on the advisory lock has not
+    // refreshed yet; scanning pg_class sees whatever the previous holder committed
+    private static final String LEGACY_TABLE_STILL_EXISTS_SQL =
+            "SELECT EXISTS (SELECT 1 FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace "
+            + "WHERE c.relname = 'student_owned_items' AND n.nspname = current_schema())";
+    // Serialises the migration across instances booting together; released at commit
+    private static final String MIGRATION_LOCK_SQL =
+            "SELECT pg_advisory_xact_lock(hashtext('student_owned_items_migration'))";
+    private static final String MIGRATE_ITEM_SQL = """
+            UPDATE students s SET owned_items_mask = s.owned_items_mask | :bit
+            WHERE EXISTS (SELECT 1 FROM student_owned_items o WHERE o.student_id = s.id AND o.item_id = :item)
+            """;
+    // Kept under a new name rather than dropped, in case anything off-catalog needs recovering
+    private static final String RETIRE_LEGACY_TABLE_SQL =
+            "ALTER TABLE student_owned_items RENAME TO student_owned_items_migrated";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final StoreCatalog storeCatalog;
+
+    private record Purchase(int coins, long ownedItemsMask) {
+    }
+
+    /** Charges the catalog price for {@code itemId}; returns the new balance and owned items. */
+    public Map<String, Object> purchaseItem(Long studentId, String itemId) {
+        StoreCatalog.StoreItem item = storeCatalog.find(itemId)
+                .orElseThrow(() -> AppException.badRequest("Unknown item"));
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", studentId)
+                .addValue("bit", item.bit())
+                .addValue("price", item.price());
+        List<Purchase> rows = jdbcTemplate.query(PURCHASE_SQL, params,
+                (rs, i) -> new Purchase(rs.getInt(1), rs.getLong(2)));
+
+        if (rows.isEmpty()) {
+            // Off the happy path: one more read to tell the two refusals apart
+            Boolean owned = jdbcTemplate.queryForObject(OWNS_SQL, params, Boolean.class);
+            throw AppException.badRequest(Boolean.TRUE.equals(owned) ? "Item already owned" : "Not enough coins");
+        }
+        Purchase purchase = rows.get(0);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("coins", purchase.coins());
+        result.put("ownedItems", storeCatalog.idsOf(purchase.ownedItemsMask()));
+        return result;
+    }
+
+    public Map<String, Object> purchaseStreakShield(Long studentId) {
+        int price = storeCatalog.find(StoreCatalog.STREAK_SHIELD)
+                .map(StoreCatalog.StoreItem::price)
+                .orElseThrow(() -> new IllegalStateException("Streak shield missing from store catalog"));
+
+        List<Map<String, Object>> rows = jdbcTemplate.query(PURCHASE_SHIELD_SQL, new MapSqlParameterSource()
+                .addValue("id", studentId)
+                .addValue("price", price),
+                (rs, i) -> {
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("coins", rs.getInt(1));
+                    result.put("streakShields", rs.getInt(2));
+                    return result;
+                });
+        if (rows.isEmpty())
+            throw AppException.badRequest("Not enough coins to buy a shield");
+        return rows.get(0);
+    }
+
+    /**
+     * One-time move of rows from the old {@code student_owned_items} collection table into
+     * the mask column. Runs once per database: the old table is renamed afterwards, and
+     * instances starting together queue on an advisory lock and re-check before migrating.
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyOwnedItems() {
+        Boolean exists = jdbcTemplate.queryForObject(LEGACY_TABLE_EXISTS_SQL, Map.of(), Boolean.class);
+        if (!Boolean.TRUE.equals(exists))
+            return;
+
+        jdbcTemplate.getJdbcOperations().queryForList(MIGRATION_LOCK_SQL);
+        exists = jdbcTemplate.queryForObject(LEGACY_TABLE_STILL_EXISTS_SQL, Map.of(), Boolean.class);
+        if (!Boolean.TRUE.equals(exists))
+            return; // another instance migrated while we waited
+
+        SqlParameterSource[] batch = storeCatalog.getItems().stream()
+                .map(item -> new MapSqlParameterSource()
+                        .addValue("item", item.id())
+                        .addValue("bit", item.bit()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(MIGRATE_ITEM_SQL, batch);
+        jdbcTemplate.getJdbcOperations().execute(RETIRE_LEGACY_TABLE_SQL);
+        log.info("[Store] Migrated owned items into students.owned_items_mask");
+    }
+}
@@ -0,0 +1,95 @@
+package com.backend.ecoally.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Settles yesterday's streaks for every student shortly after midnight, so leaderboards
+ * never show a streak that is already broken.
+ * <p>
+ * Students are walked in id order (keyset batches of {@code streaks.job.batch-size}); each
+ * batch is one set-based UPDATE. A student whose last counted day is before yesterday spends
+ * one shield per missed day if they have enough, otherwise their streak drops to 0.
+ * {@code longestStreak} is brought up to date along the way. Overlapping runs (several
+ * nodes, or a slow run meeting the next) are safe: the gap is recomputed from the locked row.
+ * {@link StreakService} applies the same rule on the request path, so a late or skipped run
+ * costs no one their streak.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StreakEvaluationJob {
+
+    // Days since the last counted day, read from the row being updated: if another node
+    // settled the row first, the re-check after its commit sees the new last_streak_date
+    // and nothing is spent twice
+    private static final String MISSED = "(CAST(:day AS date) - COALESCE(s.last_streak_date, CAST(s.last_active_date AS date)))";
+
+    // Returns the last id in the batch (null when past the end) to continue the keyset walk
+    private static final String SETTLE_BATCH_SQL = """
+            WITH batch AS (
+              SELECT id FROM students WHERE id > :afterId ORDER BY id LIMIT :batchSize
+            ), settled AS (
+              UPDATE students s SET
+                streak_shields = CASE WHEN s.current_streak > 0 AND %1$s > 0 AND s.streak_shields >= %1$s
+                                      THEN s.streak_shields - %1$s ELSE s.streak_shields END,
+                current_streak = CASE WHEN s.current_streak > 0 AND %1$s > 0 AND s.streak_shields < %1$s
+                                      THEN 0 ELSE s.current_streak END,
+                last_streak_date = CASE WHEN s.current_streak > 0 AND %1$s > 0 AND s.streak_shields >= %1$s
+                                        THEN CAST(:day AS date)
+                                        ELSE COALESCE(s.last_streak_date, CAST(s.last_active_date AS date)) END,
+                longest_streak = GREATEST(s.longest_streak, s.current_streak)
+              FROM batch b
+              WHERE s.id = b.id
+                AND ((s.current_streak > 0 AND %1$s > 0) OR s.longest_streak < s.current_streak)
+            )
+            SELECT max(id) FROM batch
+            """.formatted(MISSED);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${streaks.job.enabled:true}")
+    private boolean enabled;
+
+    @Value("${streaks.job.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${streaks.job.pause-ms:100}")
+    private long pauseMs;
+
+    @Scheduled(cron = "${streaks.job.cron:0 5 0 * * *}")
+    public void settleYesterday() {
+        if (!enabled)
+            return;
+
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        long afterId = 0;
+        int batches = 0;
+        try {
+            while (true) {
+                Long lastId = jdbcTemplate.queryForObject(SETTLE_BATCH_SQL, new MapSqlParameterSource()
+                        .addValue("afterId", afterId)
+                        .addValue("batchSize", batchSize)
+                        .addValue("day", yesterday), Long.class);
+                if (lastId == null)
+                    break;
+                afterId = lastId;
+                batches++;
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("[Streaks] Nightly evaluation stopped after id {}: {}", afterId, e.getMessage());
+            return;
+        }
+        log.info("[Streaks] Settled streaks for {} in {} batches", yesterday, batches);
+    }
+}
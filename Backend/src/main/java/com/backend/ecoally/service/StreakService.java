@@ -1,97 +1,99 @@
 package com.backend.ecoally.service;
 
+import com.backend.ecoally.events.StreakUpdatedEvent;
 import com.backend.ecoally.exception.AppException;
-import com.backend.ecoally.model.Student;
-import com.backend.ecoally.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.Date;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Streaks on the request path: a single "mark active today" statement.
+ * <p>
+ * Missed days are normally settled overnight by {@link StreakEvaluationJob}, but the request
+ * path doesn't rely on it having run (activity just after midnight, a failed run, the job
+ * disabled): it applies the same rule itself. A gap of missed days is covered by spending one
+ * shield per day if the student has enough, and the streak continues; otherwise it restarts.
+ */
 @Service
 @RequiredArgsConstructor
 public class StreakService {
 
-    private final StudentRepository studentRepository;
+    // The locked subselect reads the latest row and exposes the previous day and the shields
+    // spent to RETURNING; "missed" counts the days strictly between prev and today
+    private static final String MARK_ACTIVE_SQL = """
+            UPDATE students s SET
+              streak_shields = CASE WHEN o.covered THEN s.streak_shields - o.missed ELSE s.streak_shields END,
+              current_streak = CASE WHEN o.prev = :today THEN s.current_streak
+                                    WHEN o.prev = :yesterday OR o.covered THEN s.current_streak + 1
+                                    ELSE 1 END,
+              longest_streak = GREATEST(s.longest_streak,
+                                    CASE WHEN o.prev = :today THEN s.current_streak
+                                         WHEN o.prev = :yesterday OR o.covered THEN s.current_streak + 1
+                                         ELSE 1 END),
+              last_streak_date = :today,
+              last_active_date = :now
+            FROM (SELECT p.id, p.prev, :yesterday - p.prev AS missed,
+                         COALESCE(p.prev < :yesterday AND p.current_streak > 0
+                                  AND p.streak_shields >= :yesterday - p.prev, false) AS covered
+                  FROM (SELECT id, current_streak, streak_shields,
+                               COALESCE(last_streak_date, CAST(last_active_date AS date)) AS prev
+                        FROM students WHERE id = :id FOR UPDATE) p) o
+            WHERE s.id = o.id
+            RETURNING s.current_streak, s.longest_streak, o.prev, CASE WHEN o.covered THEN o.missed ELSE 0 END
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private record Marked(int currentStreak, int longestStreak, LocalDate previous, int shieldsUsed) {
+    }
 
     public Map<String, Object> updateStreak(Long studentId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> AppException.notFound("Student not found"));
-
-        LocalDateTime today = LocalDateTime.now();
-        LocalDateTime lastActive = student.getLastActiveDate();
-
-        Map<String, Object> result = new HashMap<>();
-
-        if (lastActive == null) {
-            // First time
-            student.setCurrentStreak(1);
-            student.setLongestStreak(1);
-            student.setLastActiveDate(today);
-            studentRepository.save(student);
-
-            result.put("currentStreak", 1);
-            result.put("longestStreak", 1);
-            result.put("streakMaintained", true);
-            result.put("streakBroken", false);
-            return result;
-        }
-
-        LocalDate todayDate = today.toLocalDate();
-        LocalDate lastDate = lastActive.toLocalDate();
-
-        if (todayDate.equals(lastDate)) {
-            // Already active today
-            result.put("currentStreak", student.getCurrentStreak());
-            result.put("longestStreak", student.getLongestStreak());
-            result.put("streakMaintained", true);
-            result.put("streakBroken", false);
-            return result;
-        }
-
-        long daysBetween = ChronoUnit.DAYS.between(lastDate, todayDate);
-
-        if (daysBetween == 1) {
-            // Consecutive day
-            student.setCurrentStreak(student.getCurrentStreak() + 1);
-            if (student.getCurrentStreak() > student.getLongestStreak()) {
-                student.setLongestStreak(student.getCurrentStreak());
-            }
-            student.setLastActiveDate(today);
-            studentRepository.save(student);
+        LocalDateTime now = LocalDateTime.now();
+        return toResult(studentId, mark(studentId, now), now.toLocalDate());
+    }
 
-            result.put("currentStreak", student.getCurrentStreak());
-            result.put("longestStreak", student.getLongestStreak());
-            result.put("streakMaintained", true);
-            result.put("streakBroken", false);
-        } else if (student.getStreakShields() > 0) {
-            // Use shield
-            student.setStreakShields(student.getStreakShields() - 1);
-            student.setLastActiveDate(today);
-            studentRepository.save(student);
+    private Marked mark(Long studentId, LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        List<Marked> rows = jdbcTemplate.query(MARK_ACTIVE_SQL, new MapSqlParameterSource()
+                .addValue("id", studentId)
+                .addValue("today", today)
+                .addValue("yesterday", today.minusDays(1))
+                .addValue("now", now),
+                (rs, i) -> {
+                    Date prev = rs.getDate(3);
+                    return new Marked(rs.getInt(1), rs.getInt(2), prev != null ? prev.toLocalDate() : null,
+                            rs.getInt(4));
+                });
+        if (rows.isEmpty())
+            throw AppException.notFound("Student not found");
+        return rows.get(0);
+    }
 
-            result.put("currentStreak", student.getCurrentStreak());
-            result.put("longestStreak", student.getLongestStreak());
-            result.put("streakMaintained", true);
-            result.put("streakBroken", false);
-            result.put("shieldUsed", true);
-            result.put("shieldsRemaining", student.getStreakShields());
-        } else {
-            // Streak broken
-            student.setCurrentStreak(1);
-            student.setLastActiveDate(today);
-            studentRepository.save(student);
+    private Map<String, Object> toResult(Long studentId, Marked marked, LocalDate today) {
+        LocalDate previous = marked.previous();
+        boolean continued = previous == null || !previous.isBefore(today.minusDays(1))
+                || marked.shieldsUsed() > 0;
 
-            result.put("currentStreak", 1);
-            result.put("longestStreak", student.getLongestStreak());
-            result.put("streakMaintained", false);
-            result.put("streakBroken", true);
+        Map<String, Object> result = new HashMap<>();
+        result.put("currentStreak", marked.currentStreak());
+        result.put("longestStreak", marked.longestStreak());
+        result.put("streakMaintained", continued);
+        result.put("streakBroken", !continued);
+        result.put("shieldsUsed", marked.shieldsUsed());
+
+        if (!today.equals(previous)) {
+            eventPublisher.publishEvent(new StreakUpdatedEvent(studentId, marked.currentStreak()));
         }
-
         return result;
     }
 }
@@ -0,0 +1,21 @@
+package com.backend.ecoally;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Throwaway Postgres for integration tests. Pair with {@code @ActiveProfiles("integration")} so
+ * the prod datasource is never configured, and with
+ * {@code @Testcontainers(disabledWithoutDocker = true)} so the test is skipped without Docker.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class PostgresTestConfig {
+
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer<?> postgres() {
+        return new PostgreSQLContainer<>("postgres:16-alpine");
+    }
+}
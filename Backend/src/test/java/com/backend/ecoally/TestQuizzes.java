@@ -0,0 +1,40 @@
+package com.backend.ecoally;
+
+import com.backend.ecoally.model.Question;
+import com.backend.ecoally.model.Quiz;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unsaved quizzes for tests that grade in memory. Quiz id {@value #QUIZ_ID}; questions have
+ * ids 1..n, options A–D, and question {@code i} is answered correctly by option {@code i % 4}.
+ */
+public final class TestQuizzes {
+
+    public static final long QUIZ_ID = 0L;
+
+    private TestQuizzes() {
+    }
+
+    public static Quiz quiz(Quiz.Difficulty difficulty, int questions) {
+        Quiz quiz = new Quiz();
+        quiz.setId(QUIZ_ID);
+        quiz.setDifficulty(difficulty);
+        quiz.setPublished(true);
+        quiz.setUpdatedAt(LocalDateTime.now());
+        List<Question> list = new ArrayList<>();
+        for (int i = 1; i <= questions; i++) {
+            Question q = new Question();
+            q.setId((long) i);
+            q.setText("Question " + i);
+            q.setOptions(List.of("A", "B", "C", "D"));
+            q.setCorrectAnswer(i % 4);
+            q.setQuestionOrder(i);
+            list.add(q);
+        }
+        quiz.setQuestions(list);
+        return quiz;
+    }
+}
@@ -0,0 +1,118 @@
+package com.backend.ecoally.grading;
+
+import com.backend.ecoally.TestQuizzes;
+import com.backend.ecoally.model.Question;
+import com.backend.ecoally.model.Quiz;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class QuizAnswerKeyTest {
+
+    @Test
+    void allCorrectScoresHundred() {
+        Quiz quiz = TestQuizzes.quiz(Quiz.Difficulty.EASY, 4);
+        QuizAnswerKey.Grade grade = QuizAnswerKey.compile(quiz).grade(Map.of("1", 1, "2", 2, "3", 3, "4", 0));
+
+        assertThat(grade.correctAnswers()).isEqualTo(4);
+        assertThat(grade.totalQuestions()).isEqualTo(4);
+        assertThat(grade.score()).isEqualTo(100);
+        assertThat(grade.questions()).allMatch(QuizAnswerKey.QuestionResult::correct);
+    }
+
+    @Test
+    void nullAnswersMapGradesEveryQuestionUnanswered() {
+        QuizAnswerKey.Grade grade = QuizAnswerKey.compile(TestQuizzes.quiz(Quiz.Difficulty.EASY, 3)).grade(null);
+
+        assertThat(grade.correctAnswers()).isZero();
+        assertThat(grade.totalQuestions()).isEqualTo(3);
+        assertThat(grade.score()).isZero();
+        assertThat(grade.questions()).allMatch(q -> q.userAnswer() == null && !q.correct());
+    }
+
+    @Test
+    void missingAndWrongAnswersAreIncorrect() {
+        Quiz quiz = TestQuizzes.quiz(Quiz.Difficulty.MEDIUM, 4);
+        Map<String, Integer> answers = Map.of("1", 1, "2", 3, "99", 0);
+
+        QuizAnswerKey.Grade grade = QuizAnswerKey.compile(quiz).grade(answers);
+
+        assertThat(grade.correctAnswers()).isEqualTo(1);
+        assertThat(grade.score()).isEqualTo(25).isEqualTo(baselineScore(quiz, answers));
+        assertThat(grade.questions())
+                .extracting(QuizAnswerKey.QuestionResult::userAnswer, QuizAnswerKey.QuestionResult::correct)
+                .containsExactly(
+                        tuple(1, true),
+                        tuple(3, false),
+                        tuple(null, false),
+                        tuple(null, false));
+    }
+
+    @Test
+    void scoreRoundsLikeTheBaseline() {
+        Quiz quiz = TestQuizzes.quiz(Quiz.Difficulty.HARD, 3);
+
+        Map<String, Integer> twoOfThree = Map.of("1", 1, "2", 2, "3", 0);
+        assertThat(QuizAnswerKey.compile(quiz).grade(twoOfThree).score())
+                .isEqualTo(67).isEqualTo(baselineScore(quiz, twoOfThree));
+
+        Map<String, Integer> oneOfThree = Map.of("1", 1);
+        assertThat(QuizAnswerKey.compile(quiz).grade(oneOfThree).score())
+                .isEqualTo(33).isEqualTo(baselineScore(quiz, oneOfThree));
+    }
+
+    @Test
+    void matchesTheBaselineForEveryCorrectCount() {
+        Quiz quiz = TestQuizzes.quiz(Quiz.Difficulty.EASY, 7);
+        QuizAnswerKey key = QuizAnswerKey.compile(quiz);
+        for (int correct = 0; correct <= 7; correct++) {
+            Map<String, Integer> answers = new HashMap<>();
+            for (int i = 1; i <= 7; i++) {
+                answers.put(Integer.toString(i), i <= correct ? i % 4 : (i + 1) % 4);
+            }
+            QuizAnswerKey.Grade grade = key.grade(answers);
+            assertThat(grade.correctAnswers()).isEqualTo(correct);
+            assertThat(grade.score()).isEqualTo(baselineScore(quiz, answers));
+        }
+    }
+
+    @Test
+    void zeroQuestionQuizScoresZero() {
+        Quiz quiz = TestQuizzes.quiz(Quiz.Difficulty.EASY, 0);
+        QuizAnswerKey.Grade grade = QuizAnswerKey.compile(quiz).grade(Map.of("1", 0));
+
+        assertThat(grade.totalQuestions()).isZero();
+        assertThat(grade.score()).isZero().isEqualTo(baselineScore(quiz, Map.of("1", 0)));
+        assertThat(grade.questions()).isEmpty();
+    }
+
+    @Test
+    void resultsFollowQuestionOrder() {
+        Quiz quiz = TestQuizzes.quiz(Quiz.Difficulty.EASY, 3);
+        List<Question> questions = quiz.getQuestions();
+        questions.get(0).setQuestionOrder(3);
+        questions.get(2).setQuestionOrder(1);
+
+        QuizAnswerKey.Grade grade = QuizAnswerKey.compile(quiz).grade(Map.of());
+
+        assertThat(grade.questions()).extracting(QuizAnswerKey.QuestionResult::id).containsExactly(3L, 2L, 1L);
+    }
+
+    // The grading loop QuizAnswerKey replaced
+    private static int baselineScore(Quiz quiz, Map<String, Integer> answers) {
+        int correctAnswers = 0;
+        for (Question question : quiz.getQuestions()) {
+            Integer userAnswer = answers.get(question.getId().toString());
+            if (userAnswer != null && userAnswer == question.getCorrectAnswer()) {
+                correctAnswers++;
+            }
+        }
+        int totalQuestions = quiz.getQuestions().size();
+        return totalQuestions > 0 ? Math.round((float) correctAnswers / totalQuestions * 100) : 0;
+    }
+}
@@ -0,0 +1,101 @@
+package com.backend.ecoally.grading;
+
+import com.backend.ecoally.model.Question;
+import com.backend.ecoally.model.Quiz;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grading cost per submission: the former entity walk (stringify every id, then a second
+ * pass building a map per question) against a compiled {@link QuizAnswerKey}.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.backend.ecoally.grading.QuizGradingBenchmark}; add {@code -prof gc}
+ * through the JMH command line to compare allocation per op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class QuizGradingBenchmark {
+
+    @Param({ "10", "50", "200" })
+    public int questions;
+
+    private Quiz quiz;
+    private QuizAnswerKey answerKey;
+    private Map<String, Integer> answers;
+
+    @Setup
+    public void setup() {
+        quiz = new Quiz();
+        quiz.setId(1L);
+        quiz.setDifficulty(Quiz.Difficulty.MEDIUM);
+        quiz.setPublished(true);
+        quiz.setUpdatedAt(LocalDateTime.now());
+        List<Question> list = new ArrayList<>();
+        answers = new HashMap<>();
+        for (int i = 0; i < questions; i++) {
+            Question q = new Question();
+            q.setId(1000L + i);
+            q.setText("Question " + i);
+            q.setOptions(List.of("A", "B", "C", "D"));
+            q.setCorrectAnswer(i % 4);
+            q.setExplanation("Because " + i);
+            q.setQuestionOrder(i);
+            list.add(q);
+            // Roughly two thirds right, one question in ten skipped
+            if (i % 10 != 9)
+                answers.put(String.valueOf(q.getId()), i % 3 == 0 ? (i + 1) % 4 : i % 4);
+        }
+        quiz.setQuestions(list);
+        answerKey = QuizAnswerKey.compile(quiz);
+    }
+
+    @Benchmark
+    public Object entityWalk() {
+        int correct = 0;
+        for (Question question : quiz.getQuestions()) {
+            Integer userAnswer = answers.get(question.getId().toString());
+            if (userAnswer != null && userAnswer == question.getCorrectAnswer())
+                correct++;
+        }
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Question q : quiz.getQuestions()) {
+            String qKey = q.getId().toString();
+            Map<String, Object> r = new HashMap<>();
+            r.put("_id", q.getId());
+            r.put("text", q.getText());
+            r.put("options", q.getOptions());
+            r.put("correctAnswer", q.getCorrectAnswer());
+            r.put("explanation", q.getExplanation());
+            r.put("userAnswer", answers.get(qKey));
+            r.put("isCorrect", Objects.equals(answers.get(qKey), q.getCorrectAnswer()));
+            results.add(r);
+        }
+        return correct + results.size();
+    }
+
+    @Benchmark
+    public QuizAnswerKey.Grade answerKey() {
+        return answerKey.grade(answers);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(QuizGradingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,77 @@
+package com.backend.ecoally.service;
+
+import com.backend.ecoally.PostgresTestConfig;
+import com.backend.ecoally.StatementCounter;
+import com.backend.ecoally.TestQuizzes;
+import com.backend.ecoally.dto.request.SubmitQuizRequest;
+import com.backend.ecoally.grading.QuizAnswerKey;
+import com.backend.ecoally.model.Quiz;
+import com.backend.ecoally.model.Student;
+import com.backend.ecoally.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the JDBC statements one quiz submission costs, against a throwaway Postgres.
+ * Rolled back after the test.
+ */
+@SpringBootTest
+@ActiveProfiles("integration")
+@Import({ PostgresTestConfig.class, StatementCounter.class })
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional
+class QuizSubmissionServiceTest {
+
+    @Autowired
+    private QuizSubmissionService quizSubmissionService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Test
+    void submissionIsAHandfulOfStatements() {
+        Student student = new Student();
+        student.setUserId(-System.nanoTime());
+        studentRepository.saveAndFlush(student);
+
+        QuizAnswerKey answerKey = QuizAnswerKey.compile(TestQuizzes.quiz(Quiz.Difficulty.EASY, 10));
+        SubmitQuizRequest request = new SubmitQuizRequest();
+        request.setAnswers(Map.of("1", 0, "2", 1, "3", 3));
+        request.setTimeTaken(42);
+
+        // First submission moves the streak
+        quizSubmissionService.submit(student.getUserId(), answerKey, request);
+        entityManager.flush();
+        // Start cold, as a request does: nothing already in the persistence context
+        entityManager.clear();
+        statementCounter.reset();
+
+        quizSubmissionService.submit(student.getUserId(), answerKey, request);
+        entityManager.flush();
+
+        // Every statement, Hibernate and JdbcTemplate: student id lookup, attempt insert,
+        // item-stats batch upsert, points update, streak mark. The student is never loaded;
+        // quests are evaluated after commit (never, here).
+        assertThat(statementCounter.get()).isEqualTo(5);
+
+        Student saved = studentRepository.findById(student.getId()).orElseThrow();
+        assertThat(saved.getPoints()).isPositive();
+        assertThat(saved.getCurrentStreak()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,173 @@
+package com.backend.ecoally.service;
+
+import com.backend.ecoally.PostgresTestConfig;
+import com.backend.ecoally.TestQuizzes;
+import com.backend.ecoally.dto.request.SubmitQuizRequest;
+import com.backend.ecoally.exception.AppException;
+import com.backend.ecoally.grading.QuizAnswerKey;
+import com.backend.ecoally.model.Quiz;
+import com.backend.ecoally.model.Student;
+import com.backend.ecoally.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers one student's balance from many threads through the real services and database:
+ * challenge-style earns, quiz submissions, shield and store purchases. With no in-process
+ * locking, every thread stands in for a different node; no update may be lost and the
+ * balance may never go negative. Commits for real, so everything it wrote is deleted afterwards.
+ */
+@SpringBootTest
+@ActiveProfiles("integration")
+@Import(PostgresTestConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+class StudentBalanceConcurrencyTest {
+
+    private static final int EARNERS = 4;
+    private static final int SUBMITTERS = 2;
+    private static final int SPENDERS = 4;
+    private static final int ROUNDS = 50;
+    private static final int EARN_COINS = 20;
+
+    @Autowired
+    private PointsService pointsService;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private QuizSubmissionService quizSubmissionService;
+
+    @Autowired
+    private StoreCatalog storeCatalog;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private ThreadPoolTaskExecutor asyncExecutor;
+
+    private Long studentId;
+
+    @AfterEach
+    void deleteWrittenRows() throws InterruptedException {
+        if (studentId == null)
+            return;
+        // Quest listeners run @Async after each commit; let them land before cleaning up
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((asyncExecutor.getActiveCount() > 0 || !asyncExecutor.getThreadPoolExecutor().getQueue().isEmpty())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        jdbcTemplate.update("DELETE FROM quest_progresses WHERE student_id = ?", studentId);
+        jdbcTemplate.update("DELETE FROM quest_progress_summaries WHERE student_id = ?", studentId);
+        jdbcTemplate.update("DELETE FROM quiz_attempts WHERE student_id = ?", studentId);
+        jdbcTemplate.update("DELETE FROM quiz_question_stats WHERE quiz_id = ?", TestQuizzes.QUIZ_ID);
+        jdbcTemplate.update("DELETE FROM students WHERE id = ?", studentId);
+    }
+
+    @Test
+    void concurrentEarnsAndSpendsKeepTheBalanceExact() throws Exception {
+        Student student = new Student();
+        student.setUserId(-System.nanoTime());
+        studentId = studentRepository.saveAndFlush(student).getId();
+
+        QuizAnswerKey answerKey = QuizAnswerKey.compile(TestQuizzes.quiz(Quiz.Difficulty.MEDIUM, 2));
+        SubmitQuizRequest request = new SubmitQuizRequest();
+        request.setAnswers(Map.of("1", 1, "2", 2));
+        request.setTimeTaken(10);
+        Map<String, Integer> quizRewards = pointsService.calculateQuizRewards(
+                answerKey.getDifficulty().name(), answerKey.grade(request.getAnswers()).score());
+
+        AtomicInteger shields = new AtomicInteger();
+        AtomicInteger itemsSpent = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(EARNERS + SUBMITTERS + SPENDERS + 1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < EARNERS; t++) {
+            futures.add(pool.submit(rounds(start, () -> pointsService.addPoints(studentId, 10, EARN_COINS))));
+        }
+        for (int t = 0; t < SUBMITTERS; t++) {
+            futures.add(pool.submit(rounds(start,
+                    () -> quizSubmissionService.submit(student.getUserId(), answerKey, request))));
+        }
+        for (int t = 0; t < SPENDERS; t++) {
+            futures.add(pool.submit(rounds(start, () -> {
+                try {
+                    storeService.purchaseStreakShield(studentId);
+                    shields.incrementAndGet();
+                } catch (AppException e) {
+                    // Not enough coins at that moment
+                }
+                return null;
+            })));
+        }
+        // Every catalog item once, racing the shield spends for the same coins
+        futures.add(pool.submit(() -> {
+            start.await();
+            for (StoreCatalog.StoreItem item : storeCatalog.getItems()) {
+                try {
+                    storeService.purchaseItem(studentId, item.id());
+                    itemsSpent.addAndGet(item.price());
+                } catch (AppException e) {
+                    // Not enough coins at that moment
+                }
+            }
+            return null;
+        }));
+
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(120, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        int shieldPrice = storeCatalog.find(StoreCatalog.STREAK_SHIELD).orElseThrow().price();
+        int earned = EARNERS * ROUNDS * EARN_COINS + SUBMITTERS * ROUNDS * quizRewards.get("coins");
+        int points = EARNERS * ROUNDS * 10 + SUBMITTERS * ROUNDS * quizRewards.get("points");
+
+        Student result = studentRepository.findById(studentId).orElseThrow();
+        assertThat(result.getCoins()).isEqualTo(earned - shields.get() * shieldPrice - itemsSpent.get());
+        assertThat(result.getCoins()).isNotNegative();
+        assertThat(result.getStreakShields()).isEqualTo(shields.get());
+        assertThat(result.getPoints()).isEqualTo(points);
+        assertThat(result.getLevel()).isEqualTo(pointsService.calculateLevel(points));
+        assertThat(result.getTier()).isEqualTo(pointsService.calculateTier(points));
+    }
+
+    private static Callable<Void> rounds(CountDownLatch start, Callable<?> action) {
+        return () -> {
+            start.await();
+            for (int i = 0; i < ROUNDS; i++) {
+                action.call();
+            }
+            return null;
+        };
+    }
+}